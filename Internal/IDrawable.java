@@ -1,5 +0,0 @@
-package MiniSprite.Internal;
-
-public interface IDrawable {
-    void draw();
-}
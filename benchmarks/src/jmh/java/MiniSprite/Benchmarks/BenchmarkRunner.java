@@ -0,0 +1,27 @@
+package MiniSprite.Benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs every benchmark with the GC profiler, so each result also reports allocation rate (same as -prof gc).
+ * Pass a regex to run only some, e.g. "Wave".
+ *
+ * Benchmarks run headless, against an android.jar whose stubs return default values instead of throwing.
+ * ./gradlew :benchmarks:jmh -PjmhInclude=Wave
+ */
+public final class BenchmarkRunner {
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackage().getName() + ".*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
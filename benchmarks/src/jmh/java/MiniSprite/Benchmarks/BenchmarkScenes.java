@@ -0,0 +1,41 @@
+package MiniSprite.Benchmarks;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import MiniSprite.CustomTransforms.MiniText;
+import MiniSprite.MiniSpriteSurface;
+import MiniSprite.Transform2D;
+
+/**
+ * Headless scenes shared by the benchmarks. Fixed seeds so every run measures the same scene.
+ */
+final class BenchmarkScenes {
+    static final int WIDTH = 1080;
+    static final int HEIGHT = 1920;
+    static final long FRAME_NANOS = 16_666_667L;
+
+    private BenchmarkScenes() {}
+
+    static MiniSpriteSurface createSurface(){
+        return new MiniSpriteSurface(WIDTH, HEIGHT);
+    }
+
+    /**
+     * Text transforms, as MiniText draws on a RecordingRenderTarget without needing a decoded bitmap.
+     * Spread over twice the screen height, so about half are off screen like in a real scene.
+     */
+    static ArrayList<Transform2D> createTransforms(int count, long seed){
+        Random random = new Random(seed);
+        ArrayList<Transform2D> transforms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transforms.add(new MiniText.Builder()
+                    .withTextValue("T")
+                    .withName("Transform " + i)
+                    .withDimensions(64, 64)
+                    .withPositionXY(random.nextInt(WIDTH), random.nextInt(HEIGHT * 2) - HEIGHT / 2)
+                    .build());
+        }
+        return transforms;
+    }
+}
@@ -0,0 +1,86 @@
+package MiniSprite.Benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import MiniSprite.Internal.DrawnTransformCollection;
+import MiniSprite.Internal.RecordingRenderTarget;
+import MiniSprite.MiniSpriteSurface;
+import MiniSprite.Transform2D;
+
+/**
+ * Full frame iteration and drawing of DrawnTransformCollection, and instantiate/destroy churn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DrawnTransformCollectionBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int transformCount;
+
+    private MiniSpriteSurface surface;
+    private DrawnTransformCollection transforms;
+    private RecordingRenderTarget target;
+    private List<Transform2D> churned;
+    private long frameTime;
+
+    @Setup
+    public void setup(){
+        surface = BenchmarkScenes.createSurface();
+        transforms = surface.AllTransforms;
+        target = new RecordingRenderTarget(BenchmarkScenes.WIDTH, BenchmarkScenes.HEIGHT);
+
+        ArrayList<Transform2D> scene = BenchmarkScenes.createTransforms(transformCount, 1);
+        transforms.instantiateTransforms(scene, 0);
+        transforms.resolveTransformUpdates();
+
+        // A tenth of the scene is destroyed and instantiated again every churn invocation.
+        churned = new ArrayList<>(scene.subList(0, Math.max(1, transformCount / 10)));
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole){
+        for (int i = 0; i < transforms.size(); i++) {
+            blackhole.consume(transforms.get(i));
+        }
+    }
+
+    @Benchmark
+    public int drawAll(){
+        target.clear();
+        for (int i = 0; i < transforms.size(); i++) {
+            transforms.get(i).draw(target);
+        }
+        return target.getCallCount();
+    }
+
+    /**
+     * Whole headless frame: resolve, start, update, cull and draw.
+     */
+    @Benchmark
+    public int stepFrame(){
+        target.clear();
+        frameTime += BenchmarkScenes.FRAME_NANOS;
+        surface.stepFrame(frameTime, target);
+        return surface.getDrawnCount();
+    }
+
+    @Benchmark
+    public int churn(){
+        transforms.destroyTransforms(churned);
+        transforms.instantiateTransforms(churned, 1);
+        transforms.resolveTransformUpdates();
+        return transforms.size();
+    }
+}
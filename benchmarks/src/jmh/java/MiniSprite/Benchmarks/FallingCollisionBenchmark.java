@@ -0,0 +1,65 @@
+package MiniSprite.Benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import MiniSprite.CustomComponents.FallingComponent;
+import MiniSprite.CustomComponents.FallingSystem;
+import MiniSprite.Internal.RecordingRenderTarget;
+import MiniSprite.MiniSpriteSurface;
+import MiniSprite.Transform2D;
+
+/**
+ * FallingComponent movement and collision queries at increasing counts, per transform or batched by FallingSystem.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FallingCollisionBenchmark {
+    @Param({"100", "1000", "5000"})
+    public int fallingCount;
+
+    @Param({"false", "true"})
+    public boolean useSystem;
+
+    private MiniSpriteSurface surface;
+    private RecordingRenderTarget target;
+    private long frameTime;
+
+    @Setup
+    public void setup(){
+        surface = BenchmarkScenes.createSurface();
+        target = new RecordingRenderTarget(BenchmarkScenes.WIDTH, BenchmarkScenes.HEIGHT);
+        if(useSystem){
+            surface.registerSystem(new FallingSystem());
+        }
+
+        ArrayList<Transform2D> scene = BenchmarkScenes.createTransforms(fallingCount, 2);
+        for (int i = 0; i < scene.size(); i++) {
+            // Never resets on collision, so every frame queries the same amount of work.
+            scene.get(i).Components.add(new FallingComponent(5, 15, 1, 4, other -> false));
+        }
+        surface.AllTransforms.instantiateTransforms(scene, 0);
+
+        // First frame starts every component.
+        frameTime = BenchmarkScenes.FRAME_NANOS;
+        surface.stepFrame(frameTime, target);
+    }
+
+    @Benchmark
+    public int stepFrame(){
+        target.clear();
+        frameTime += BenchmarkScenes.FRAME_NANOS;
+        surface.stepFrame(frameTime, target);
+        return surface.getDrawnCount();
+    }
+}
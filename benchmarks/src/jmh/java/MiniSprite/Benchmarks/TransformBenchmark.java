@@ -0,0 +1,96 @@
+package MiniSprite.Benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import MiniSprite.Internal.RecordingRenderTarget;
+import MiniSprite.Internal.SpriteSheet;
+import MiniSprite.Transform2D;
+
+/**
+ * Transform2D world matrix work when a root moves, for children at increasing depth,
+ * and sprite sheet slice rectangle lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransformBenchmark {
+    private static final int TRANSFORM_COUNT = 1000;
+
+    @Param({"0", "1", "4"})
+    public int parentDepth;
+
+    private Transform2D root;
+    private ArrayList<Transform2D> transforms;
+    private RecordingRenderTarget target;
+    private float rotation;
+
+    @Setup
+    public void setup(){
+        target = new RecordingRenderTarget(BenchmarkScenes.WIDTH, BenchmarkScenes.HEIGHT);
+        root = new Transform2D.Builder<>().withName("Root").withPositionXY(500, 500).build();
+
+        Transform2D parent = root;
+        for (int i = 0; i < parentDepth; i++) {
+            parent = new Transform2D.Builder<>().withPositionXY(10, 10).withRotationAngleDegrees(15).withParent(parent).build();
+        }
+
+        transforms = BenchmarkScenes.createTransforms(TRANSFORM_COUNT, 3);
+        for (int i = 0; i < transforms.size(); i++) {
+            transforms.get(i).setParent(parentDepth == 0 ? null : parent);
+        }
+    }
+
+    /**
+     * Every transform's matrices rebuilt, as their ancestor (or themselves, with no parent) rotated.
+     */
+    @Benchmark
+    public float rotateAndUpdate(){
+        rotation += 1;
+        if(parentDepth == 0){
+            for (int i = 0; i < transforms.size(); i++) {
+                transforms.get(i).setRotationAngleDegrees(rotation);
+            }
+        } else {
+            root.setRotationAngleDegrees(rotation);
+        }
+
+        float sum = 0;
+        for (int i = 0; i < transforms.size(); i++) {
+            sum += transforms.get(i).getWorldCenterX();
+        }
+        return sum;
+    }
+
+    /**
+     * Matrices already up to date, only the cached path and save/concat/restore.
+     */
+    @Benchmark
+    public int drawUnchanged(){
+        target.clear();
+        for (int i = 0; i < transforms.size(); i++) {
+            transforms.get(i).draw(target);
+        }
+        return target.getCallCount();
+    }
+
+    @Benchmark
+    public int sliceRects(){
+        // 8 by 8 sheet of 32 pixel slices.
+        SpriteSheet sheet = SpriteSheet.get(256, 256, 8, 8);
+        int sum = 0;
+        for (int sliceIndex = 0; sliceIndex < 64; sliceIndex++) {
+            sum += sheet.getLeft(sliceIndex) + sheet.getTop(sliceIndex);
+        }
+        return sum;
+    }
+}
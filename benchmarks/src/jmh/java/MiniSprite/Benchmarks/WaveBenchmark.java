@@ -0,0 +1,68 @@
+package MiniSprite.Benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import MiniSprite.CustomComponents.WaveComponent;
+import MiniSprite.CustomTransforms.MiniText;
+import MiniSprite.Internal.RecordingRenderTarget;
+import MiniSprite.MiniSpriteSurface;
+import MiniSprite.Transform2D;
+
+/**
+ * WaveComponent and its followers, each wave spawns about 100 followers moved by its WaveSolver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WaveBenchmark {
+    @Param({"1", "10", "100"})
+    public int waveCount;
+
+    private MiniSpriteSurface surface;
+    private RecordingRenderTarget target;
+    private long frameTime;
+
+    @Setup
+    public void setup(){
+        surface = BenchmarkScenes.createSurface();
+        target = new RecordingRenderTarget(BenchmarkScenes.WIDTH, BenchmarkScenes.HEIGHT);
+
+        for (int i = 0; i < waveCount; i++) {
+            Transform2D wave = new Transform2D.Builder<>()
+                    .withName("Wave " + i)
+                    .withPositionXY(BenchmarkScenes.WIDTH / 2, BenchmarkScenes.HEIGHT * i / waveCount)
+                    .withComponent(new WaveComponent(
+                            () -> new MiniText.Builder().withTextValue("~").build(),
+                            0, 0,
+                            BenchmarkScenes.WIDTH, BenchmarkScenes.HEIGHT / 4,
+                            40, 400, 2000,
+                            1f, 1f,
+                            1))
+                    .build();
+            surface.AllTransforms.instantiateTransform(wave, 0);
+        }
+
+        // First frame starts waves, which instantiate followers, the second starts followers.
+        for (int i = 0; i < 2; i++) {
+            frameTime += BenchmarkScenes.FRAME_NANOS;
+            surface.stepFrame(frameTime, target);
+        }
+    }
+
+    @Benchmark
+    public int stepFrame(){
+        target.clear();
+        frameTime += BenchmarkScenes.FRAME_NANOS;
+        surface.stepFrame(frameTime, target);
+        return surface.getDrawnCount();
+    }
+}
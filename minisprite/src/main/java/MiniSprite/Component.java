@@ -0,0 +1,96 @@
+package MiniSprite;
+
+import android.graphics.Canvas;
+
+/**
+ * Add components to Transforms to update that transform over time.
+ */
+public abstract class Component {
+    // Set while a registered ComponentSystem updates this component instead of its transform.
+    ComponentSystem<?> system;
+    // Set by the owner transform once start has run.
+    boolean started;
+    private boolean enabled = true;
+
+    /**
+     * Start is called once, on the first frame after its transform is instantiated,
+     * or the first frame after being added to a transform already instantiated.
+     * @param ownerTransform Transform added to that has list of components run in order.
+     * @param canvas Locked Canvas, null when headless. Prefer miniSpriteSurface.getWidth() and getHeight().
+     * @param miniSpriteSurface Surface transform belongs to, use to manipulate other transforms using GetComponent<Component>()
+     */
+    public abstract void start(Transform2D ownerTransform, Canvas canvas, MiniSpriteSurface miniSpriteSurface);
+
+    /**
+     * Update is called once per fixed simulation step, so it may run zero or several times in one drawn frame.
+     * Use miniSpriteSurface.getFrameClock() for delta time and frame index rather than the system clock.
+     * @param ownerTransform Transform added to that has list of components run in order.
+     * @param canvas Locked Canvas, null when headless. Prefer miniSpriteSurface.getWidth() and getHeight().
+     * @param miniSpriteSurface Surface transform belongs to, also owns the frame clock.
+     */
+    public abstract void update(Transform2D ownerTransform, Canvas canvas, MiniSpriteSurface miniSpriteSurface);
+    public abstract Component createCopy();
+
+    /**
+     * With parallel update enabled (MiniSpriteSurface.setParallelUpdate), parallel safe components are updated
+     * on several threads at once, before the rest are updated one at a time on the Animate thread.
+     * Return true only if update writes nothing but its own fields and its owner transform's fields,
+     * and does not query AllTransforms or read other transforms' world transforms.
+     * @return True if update may run concurrently with other transforms' updates.
+     */
+    public boolean isParallelSafe(){
+        return false;
+    }
+
+    /**
+     * Called after start, and whenever the component is enabled again with setEnabled(true).
+     */
+    public void onEnable() {}
+
+    /**
+     * Called when disabled with setEnabled(false), and before onDestroy if still enabled.
+     */
+    public void onDisable() {}
+
+    /**
+     * Called once the owner transform has been destroyed and removed. Override to release resources.
+     * Components removed from Components are not destroyed, they may be added again.
+     */
+    public void onDestroy() {}
+
+    /**
+     * Disabled components are not updated, by their transform or a ComponentSystem, until enabled again.
+     * Call from the Animator thread, e.g. in another component's update or onPreUpdate.
+     * @param enabled False to stop updating the component.
+     */
+    public void setEnabled(boolean enabled){
+        if(this.enabled == enabled) return;
+
+        this.enabled = enabled;
+        // Systems only gather enabled components, let the one of this type know to rebuild.
+        ComponentList.typeChanged(this);
+        if(!started) return;
+
+        if(enabled){
+            onEnable();
+        } else {
+            onDisable();
+        }
+    }
+
+    public boolean isEnabled(){
+        return enabled;
+    }
+
+    /**
+     * @return True once start has been called.
+     */
+    public boolean isStarted(){
+        return started;
+    }
+
+    // Started and enabled, ready to update.
+    boolean isActive(){
+        return started && enabled;
+    }
+}
@@ -0,0 +1,201 @@
+package MiniSprite;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Transform2D.Components. A plain ArrayList that counts its changes,
+ * so lookups by component type can be cached and only rebuilt after components are added or removed.
+ * Components added to a transform that already started are queued to start on the next frame.
+ */
+public class ComponentList extends ArrayList<Component> {
+    // Bumped by any change to any list, so DrawnTransformCollection can tell if its component index is stale.
+    private static final AtomicInteger globalVersion = new AtomicInteger();
+    // Per exact component type, only for types asked for with getTypeVersion, so ComponentSystems rebuild only for their own type.
+    private static final ConcurrentHashMap<Class<?>, AtomicInteger> typeVersions = new ConcurrentHashMap<>();
+
+    private int version;
+    // Transform this is the Components of, told when components are added so they can be started.
+    Transform2D owner;
+
+    public ComponentList(){}
+
+    public ComponentList(int initialCapacity){
+        super(initialCapacity);
+    }
+
+    /**
+     * @return Changes whenever components are added, removed or replaced in this list.
+     */
+    public int getVersion(){
+        return version;
+    }
+
+    /**
+     * @return Changes whenever components are added, removed or replaced in any list.
+     */
+    public static int getGlobalVersion(){
+        return globalVersion.get();
+    }
+
+    /**
+     * @param type Exact component type, subtypes are counted separately.
+     * @return Changes whenever components of type are added to or removed from any list, started, enabled or disabled,
+     * or their transform is instantiated or destroyed.
+     */
+    public static int getTypeVersion(Class<? extends Component> type){
+        AtomicInteger typeVersion = typeVersions.get(type);
+        if(typeVersion == null){
+            typeVersion = typeVersions.computeIfAbsent(type, key -> new AtomicInteger());
+        }
+        return typeVersion.get();
+    }
+
+    /**
+     * Bump the version of component's type, e.g. when it is enabled or disabled.
+     */
+    static void typeChanged(Component component){
+        if(component == null) return;
+
+        AtomicInteger typeVersion = typeVersions.get(component.getClass());
+        if(typeVersion != null){
+            typeVersion.incrementAndGet();
+        }
+    }
+
+    private static void typesChanged(Collection<?> components){
+        for (Object component : components){
+            if(component instanceof Component){
+                typeChanged((Component) component);
+            }
+        }
+    }
+
+    // Before bulk removals, which do not say what they removed.
+    private void allTypesChanged(){
+        for (int i = 0; i < size(); i++) {
+            typeChanged(get(i));
+        }
+    }
+
+    private void changed(){
+        version++;
+        globalVersion.incrementAndGet();
+    }
+
+    private void added(){
+        changed();
+        if(owner != null){
+            owner.onComponentsAdded();
+        }
+    }
+
+    @Override
+    public boolean add(Component component) {
+        added();
+        typeChanged(component);
+        return super.add(component);
+    }
+
+    @Override
+    public void add(int index, Component component) {
+        added();
+        typeChanged(component);
+        super.add(index, component);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Component> components) {
+        added();
+        typesChanged(components);
+        return super.addAll(components);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends Component> components) {
+        added();
+        typesChanged(components);
+        return super.addAll(index, components);
+    }
+
+    @Override
+    public Component set(int index, Component component) {
+        added();
+        typeChanged(component);
+        Component replaced = super.set(index, component);
+        typeChanged(replaced);
+        return replaced;
+    }
+
+    @Override
+    public Component remove(int index) {
+        changed();
+        Component removed = super.remove(index);
+        typeChanged(removed);
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object component) {
+        changed();
+        boolean removed = super.remove(component);
+        if(removed){
+            typeChanged((Component) component);
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> components) {
+        changed();
+        allTypesChanged();
+        return super.removeAll(components);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> components) {
+        changed();
+        allTypesChanged();
+        return super.retainAll(components);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Component> filter) {
+        changed();
+        allTypesChanged();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        changed();
+        allTypesChanged();
+        super.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<Component> operator) {
+        added();
+        allTypesChanged();
+        super.replaceAll(operator);
+        allTypesChanged();
+    }
+
+    @Override
+    public void sort(Comparator<? super Component> comparator) {
+        changed();
+        super.sort(comparator);
+    }
+
+    @Override
+    public void clear() {
+        changed();
+        allTypesChanged();
+        super.clear();
+    }
+}
@@ -0,0 +1,124 @@
+package MiniSprite;
+
+import android.graphics.Canvas;
+
+import java.util.Arrays;
+
+import MiniSprite.Internal.DrawnTransformCollection;
+import MiniSprite.Internal.TransformStorage;
+
+/**
+ * Updates every component of one type in a single batch, instead of one virtual update call per transform.
+ * Register with MiniSpriteSurface.registerSystem. Components of that exact type are then skipped by
+ * Transform2D.update and updated here once per fixed step, after all per transform updates.
+ *
+ * Storage holds position, rotation and size of every entity, and stays authoritative for them between steps:
+ * update runs over its arrays without touching the transforms. A transform's public fields catch up when its
+ * world transform is next read (drawing, culling, collision queries, updateWorldTransform), and fields written
+ * directly meanwhile are copied into Storage then. If both were changed, Storage wins.
+ *
+ * Entities are only rebuilt when components of this exact type are added, removed, started, enabled or disabled,
+ * or their transforms instantiated or destroyed.
+ * Entity i is Storage.Transforms[i] with component getComponent(i). A transform is owned by one system at most,
+ * its components another system would take stay updated by the transform.
+ * start is still called per component.
+ * @param <T> Component type this system updates.
+ */
+public abstract class ComponentSystem<T extends Component> {
+    protected final TransformStorage Storage = new TransformStorage();
+
+    private final Class<T> type;
+    private Component[] components = new Component[0];
+    private boolean built;
+    private int typeVersion;
+
+    protected ComponentSystem(Class<T> type){
+        this.type = type;
+    }
+
+    public Class<T> getType() { return type; }
+
+    /**
+     * Read per entity values into arrays of the system's own in onEntitiesChanged, rather than calling this every step.
+     * @param index Entity index.
+     * @return Component of entity, owned by Storage.Transforms[index].
+     */
+    protected T getComponent(int index){
+        return type.cast(components[index]);
+    }
+
+    /**
+     * Batch update every entity. Read and write Storage arrays rather than transform fields.
+     * @param canvas Locked Canvas. Use to get width, height, and other attributes.
+     * @param miniSpriteSurface Surface transforms belong to, also owns the frame clock.
+     */
+    protected abstract void update(Canvas canvas, MiniSpriteSurface miniSpriteSurface);
+
+    /**
+     * Called after update, for work that needs every entity moved first (e.g. collision queries,
+     * which read world transforms and so see Storage).
+     * @param canvas Locked Canvas.
+     * @param miniSpriteSurface Surface transforms belong to.
+     */
+    protected void lateUpdate(Canvas canvas, MiniSpriteSurface miniSpriteSurface) {}
+
+    /**
+     * Called after entities were rebuilt, e.g. to copy per entity values into arrays of the system's own.
+     */
+    protected void onEntitiesChanged() {}
+
+    /**
+     * Rebuild entities on the next frame, e.g. after changing component fields copied in onEntitiesChanged.
+     * Call from the Animator thread.
+     */
+    public void invalidate(){
+        built = false;
+    }
+
+    /**
+     * Rebuild entities if components of this type changed since last call, see class comment.
+     */
+    void refresh(DrawnTransformCollection transforms){
+        int version = ComponentList.getTypeVersion(type);
+        if(built && typeVersion == version) return;
+
+        detach();
+        built = true;
+        typeVersion = version;
+        for (int i = 0; i < transforms.size(); i++) {
+            Transform2D transform = transforms.get(i);
+            for (int j = 0; j < transform.Components.size(); j++) {
+                Component component = transform.Components.get(j);
+                if(component.getClass() != type || component.system != null || !component.isActive() || transform.isStorageBound()) continue;
+
+                int index = transform.bindStorage(Storage);
+                if(index == components.length){
+                    components = Arrays.copyOf(components, Math.max(16, index * 2));
+                }
+                components[index] = component;
+                component.system = this;
+            }
+        }
+        onEntitiesChanged();
+    }
+
+    /**
+     * Hand components back to per transform update, and transforms back to their fields.
+     */
+    void detach(){
+        for (int i = 0; i < Storage.Count; i++) {
+            Storage.Transforms[i].unbindStorage();
+            components[i].system = null;
+            components[i] = null;
+        }
+        Storage.clear();
+        built = false;
+    }
+
+    void run(Canvas canvas, MiniSpriteSurface miniSpriteSurface){
+        if(Storage.Count == 0) return;
+
+        update(canvas, miniSpriteSurface);
+        lateUpdate(canvas, miniSpriteSurface);
+    }
+}
@@ -0,0 +1,96 @@
+package MiniSprite.CustomComponents;
+
+import android.graphics.Canvas;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import MiniSprite.Component;
+import MiniSprite.CustomTransforms.MiniSprite;
+import MiniSprite.MiniSpriteSurface;
+import MiniSprite.Transform2D;
+
+/**
+ * Animates a MiniSprite through its slices, timed by the surface's frame clock rather than a timer of its own.
+ * Either plays an AnimationClip, or steps through every slice at a fixed rate.
+ * Each update is a table lookup from the time since start, so sprites started together stay in step.
+ */
+public class AnimateComponent extends Component {
+    // Fixed rate clips by slice count and frame time, so sprites of the same sheet share one.
+    private static final ConcurrentHashMap<Long, AnimationClip> FIXED_RATE_CLIPS = new ConcurrentHashMap<>();
+
+    private final boolean fixedRate;
+    private final float timeUntilNextFrame;
+    private AnimationClip clip;
+    private long startTimeMillis;
+
+    /**
+     * Step through every slice of the sprite, looping, starting from its current slice.
+     * @param secondsUntilNextFrame Time each slice is shown.
+     */
+    public AnimateComponent(float secondsUntilNextFrame){
+        this.fixedRate = true;
+        this.timeUntilNextFrame = secondsUntilNextFrame;
+    }
+
+    /**
+     * @param clip Clip to play, share one between sprites.
+     */
+    public AnimateComponent(AnimationClip clip){
+        this.fixedRate = false;
+        this.timeUntilNextFrame = 0;
+        this.clip = clip;
+    }
+
+    @Override
+    public void start(Transform2D ownerTransform, Canvas canvas, MiniSpriteSurface miniSpriteSurface) {
+        startTimeMillis = miniSpriteSurface.getFrameClock().getTimeMillis();
+
+        if(fixedRate && ownerTransform instanceof MiniSprite){
+            // Every slice in order, starting from the one shown now.
+            MiniSprite sprite = (MiniSprite) ownerTransform;
+            int sliceCount = sprite.getSliceCount();
+            int frameMillis = Math.max(1, Math.round(timeUntilNextFrame * 1000));
+            long key = ((long) sliceCount << 32) | frameMillis;
+            clip = FIXED_RATE_CLIPS.get(key);
+            if(clip == null){
+                clip = AnimationClip.ofSlices(0, sliceCount, frameMillis, true);
+                FIXED_RATE_CLIPS.putIfAbsent(key, clip);
+            }
+            startTimeMillis -= (long) sprite.getSliceIndex() * frameMillis;
+        }
+    }
+
+    @Override
+    public void update(Transform2D ownerTransform, Canvas canvas, MiniSpriteSurface miniSpriteSurface) {
+        if (!(ownerTransform instanceof MiniSprite) || clip == null) return;
+
+        long elapsedMillis = miniSpriteSurface.getFrameClock().getTimeMillis() - startTimeMillis;
+        // setSliceIndex only invalidates when the slice actually changes.
+        ((MiniSprite) ownerTransform).setSliceIndex(clip.getSliceAt(elapsedMillis));
+    }
+
+    /**
+     * Play another clip from its first frame, e.g. switching from walking to jumping.
+     * @param clip Clip to play.
+     * @param miniSpriteSurface Surface whose clock times the clip.
+     */
+    public void play(AnimationClip clip, MiniSpriteSurface miniSpriteSurface){
+        this.clip = clip;
+        startTimeMillis = miniSpriteSurface.getFrameClock().getTimeMillis();
+    }
+
+    public AnimationClip getClip(){
+        return clip;
+    }
+
+    @Override
+    public boolean isParallelSafe() {
+        return true;
+    }
+
+    @Override
+    public Component createCopy() {
+        // Fixed rate copies pick their clip on start, as their sprite may have another slice count.
+        return fixedRate ? new AnimateComponent(timeUntilNextFrame) : new AnimateComponent(clip);
+    }
+}
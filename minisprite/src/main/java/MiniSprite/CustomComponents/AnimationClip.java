@@ -0,0 +1,95 @@
+package MiniSprite.CustomComponents;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Sprite sheet animation asset: which slice to show for how long. Immutable, share one clip between every sprite playing it.
+ * Frame end times are accumulated once, so finding the slice for a point in time is a binary search over a small table.
+ * Played by AnimateComponent from the surface's frame clock.
+ */
+public final class AnimationClip {
+    private final int[] sliceIndices;
+    // End time of each frame since the clip started, the last one is the clip's duration.
+    private final long[] frameEndMillis;
+    private final boolean loop;
+
+    /**
+     * @param sliceIndices Slice of each frame, see MiniSprite.setSliceIndex.
+     * @param frameMillis Time each frame is shown, same length as sliceIndices. At least 1.
+     * @param loop True to start over after the last frame, false to hold it.
+     */
+    public AnimationClip(@NonNull int[] sliceIndices, @NonNull int[] frameMillis, boolean loop){
+        if(sliceIndices.length == 0 || sliceIndices.length != frameMillis.length){
+            throw new IllegalArgumentException("Need one duration per frame and at least one frame, got "
+                    + sliceIndices.length + " frames and " + frameMillis.length + " durations");
+        }
+
+        this.sliceIndices = Arrays.copyOf(sliceIndices, sliceIndices.length);
+        this.frameEndMillis = new long[frameMillis.length];
+        this.loop = loop;
+
+        long end = 0;
+        for (int i = 0; i < frameMillis.length; i++) {
+            if(frameMillis[i] < 1) throw new IllegalArgumentException("Frame " + i + " lasts " + frameMillis[i] + "ms, needs at least 1");
+            end += frameMillis[i];
+            frameEndMillis[i] = end;
+        }
+    }
+
+    /**
+     * Clip of consecutive slices all shown for the same time, e.g. one row of a sprite sheet.
+     * @param firstSlice Slice of the first frame.
+     * @param frameCount Number of frames.
+     * @param frameMillis Time each frame is shown.
+     * @param loop True to start over after the last frame.
+     */
+    public static AnimationClip ofSlices(int firstSlice, int frameCount, int frameMillis, boolean loop){
+        int[] sliceIndices = new int[frameCount];
+        int[] durations = new int[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            sliceIndices[i] = firstSlice + i;
+            durations[i] = frameMillis;
+        }
+        return new AnimationClip(sliceIndices, durations, loop);
+    }
+
+    /**
+     * @param elapsedMillis Time since the clip started playing.
+     * @return Slice to show.
+     */
+    public int getSliceAt(long elapsedMillis){
+        return sliceIndices[getFrameAt(elapsedMillis)];
+    }
+
+    /**
+     * @param elapsedMillis Time since the clip started playing.
+     * @return Frame to show, 0 to getFrameCount() - 1.
+     */
+    public int getFrameAt(long elapsedMillis){
+        long duration = getDurationMillis();
+        if(elapsedMillis < 0) return 0;
+        if(elapsedMillis >= duration){
+            if(!loop) return frameEndMillis.length - 1;
+            elapsedMillis %= duration;
+        }
+
+        // First frame ending after elapsedMillis.
+        int low = 0;
+        int high = frameEndMillis.length - 1;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(frameEndMillis[middle] <= elapsedMillis){
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public int getFrameCount() { return sliceIndices.length; }
+    public long getDurationMillis() { return frameEndMillis[frameEndMillis.length - 1]; }
+    public boolean isLooping() { return loop; }
+}
@@ -0,0 +1,101 @@
+package MiniSprite.CustomComponents;
+
+import android.graphics.Canvas;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import MiniSprite.Component;
+import MiniSprite.Internal.TransformStorage;
+import MiniSprite.MiniSpriteSurface;
+import MiniSprite.Transform2D;
+
+public class FallingComponent extends Component {
+    Transform2D canvasTransform;
+    int width;
+    int height;
+
+    int minFallSpeed;
+    int maxFallSpeed;
+    int fallSpeed;
+    int minHeightMultiplier;
+    int maxHeightMultiplier;
+    Function<Transform2D, Boolean> onCollide;
+
+    private final ArrayList<Transform2D> collisions = new ArrayList<>();
+
+    public FallingComponent(int minFallSpeed, int maxFallSpeed, int minHeightMultiplier, int maxHeightMultiplier, Function<Transform2D, Boolean> onSpriteCollide){
+        this.minFallSpeed = minFallSpeed;
+        this.maxFallSpeed = maxFallSpeed;
+        this.minHeightMultiplier = minHeightMultiplier;
+        this.maxHeightMultiplier = maxHeightMultiplier;
+        this.onCollide = onSpriteCollide;
+    }
+
+    @Override
+    public void start(Transform2D ownerTransform, Canvas canvas, MiniSpriteSurface miniSpriteSurface) {
+        this.canvasTransform = ownerTransform;
+        this.width = miniSpriteSurface.getWidth();
+        this.height = miniSpriteSurface.getHeight();
+
+        reset();
+    }
+
+    @Override
+    public void update(Transform2D ownerTransform, Canvas canvas, MiniSpriteSurface miniSpriteSurface){
+        ownerTransform.PositionY += fallSpeed;
+        if(ownerTransform.PositionY > height){
+            reset();
+        }
+        ownerTransform.RotationAngleDegrees += fallSpeed;
+
+        collide(ownerTransform, miniSpriteSurface);
+    }
+
+    void collide(Transform2D ownerTransform, MiniSpriteSurface miniSpriteSurface){
+        if(collideUntilReset(ownerTransform, miniSpriteSurface)){
+            reset();
+        }
+    }
+
+    /**
+     * Call onCollide for each overlapping transform, until one asks to reset.
+     * @return True if reset was asked for. The remaining overlaps were with the old position, so they are skipped.
+     */
+    boolean collideUntilReset(Transform2D ownerTransform, MiniSpriteSurface miniSpriteSurface){
+        miniSpriteSurface.AllTransforms.queryOverlapping(ownerTransform, collisions);
+        for(int i = 0; i < collisions.size(); i++){
+            if(onCollide.apply(collisions.get(i))){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Component createCopy() {
+        return new FallingComponent(minFallSpeed, maxFallSpeed, minHeightMultiplier, maxHeightMultiplier, onCollide);
+    }
+
+    public void reset(){
+        // Per thread generator, Math.random shares one contended generator between all threads.
+        Random random = ThreadLocalRandom.current();
+        canvasTransform.RotationAngleDegrees = (int)(random.nextDouble() * 90) + 10;
+        canvasTransform.PositionY = -canvasTransform.Height * ((int)(random.nextDouble() * (maxHeightMultiplier - minHeightMultiplier)) + minHeightMultiplier);
+        canvasTransform.PositionX = (int)(random.nextDouble() * (width - canvasTransform.Width));
+        fallSpeed = (int)(random.nextDouble() * (maxFallSpeed - minFallSpeed) + minFallSpeed);
+    }
+
+    /**
+     * Same as reset, writing to FallingSystem's storage instead of the transform.
+     */
+    void reset(TransformStorage storage, int index){
+        Random random = ThreadLocalRandom.current();
+        storage.RotationAngleDegrees[index] = (int)(random.nextDouble() * 90) + 10;
+        storage.PositionY[index] = -storage.Height[index] * ((int)(random.nextDouble() * (maxHeightMultiplier - minHeightMultiplier)) + minHeightMultiplier);
+        storage.PositionX[index] = (int)(random.nextDouble() * (width - storage.Width[index]));
+        fallSpeed = (int)(random.nextDouble() * (maxFallSpeed - minFallSpeed) + minFallSpeed);
+    }
+}
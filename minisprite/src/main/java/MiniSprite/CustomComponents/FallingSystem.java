@@ -0,0 +1,65 @@
+package MiniSprite.CustomComponents;
+
+import android.graphics.Canvas;
+
+import java.util.Arrays;
+
+import MiniSprite.ComponentSystem;
+import MiniSprite.MiniSpriteSurface;
+
+/**
+ * Batch update for every FallingComponent, same result as their own update.
+ * Moves all of them first, then checks collisions once every entity has moved.
+ * miniSpriteSurface.registerSystem(new FallingSystem());
+ */
+public class FallingSystem extends ComponentSystem<FallingComponent> {
+    // Per entity copies of what the loop reads every step, only refreshed from the component on reset.
+    private int[] fallSpeeds = new int[0];
+    private int[] resetHeights = new int[0];
+
+    public FallingSystem(){
+        super(FallingComponent.class);
+    }
+
+    @Override
+    protected void onEntitiesChanged() {
+        if(fallSpeeds.length < Storage.Count){
+            fallSpeeds = Arrays.copyOf(fallSpeeds, Storage.Transforms.length);
+            resetHeights = Arrays.copyOf(resetHeights, Storage.Transforms.length);
+        }
+        for (int i = 0; i < Storage.Count; i++) {
+            FallingComponent falling = getComponent(i);
+            fallSpeeds[i] = falling.fallSpeed;
+            resetHeights[i] = falling.height;
+        }
+    }
+
+    @Override
+    protected void update(Canvas canvas, MiniSpriteSurface miniSpriteSurface) {
+        int[] positionY = Storage.PositionY;
+        float[] rotationAngleDegrees = Storage.RotationAngleDegrees;
+
+        for (int i = 0; i < Storage.Count; i++) {
+            positionY[i] += fallSpeeds[i];
+            if(positionY[i] > resetHeights[i]){
+                reset(i);
+            }
+            rotationAngleDegrees[i] += fallSpeeds[i];
+        }
+    }
+
+    @Override
+    protected void lateUpdate(Canvas canvas, MiniSpriteSurface miniSpriteSurface) {
+        for (int i = 0; i < Storage.Count; i++) {
+            if(getComponent(i).collideUntilReset(Storage.Transforms[i], miniSpriteSurface)){
+                reset(i);
+            }
+        }
+    }
+
+    private void reset(int index){
+        FallingComponent falling = getComponent(index);
+        falling.reset(Storage, index);
+        fallSpeeds[index] = falling.fallSpeed;
+    }
+}
@@ -0,0 +1,194 @@
+package MiniSprite.CustomComponents;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+import MiniSprite.Component;
+import MiniSprite.CustomTransforms.MiniMesh;
+import MiniSprite.Internal.MiniLog;
+import MiniSprite.MiniSpriteSurface;
+import MiniSprite.Transform2D;
+
+/**
+ * Spawns a row of followers on start and moves them along a sine wave each update, all in one batch (see WaveSolver).
+ * Change the public wave fields at any time, followers pick them up on the next update.
+ * With setMeshRendering the wave is drawn as one strip instead, one draw call rather than one per follower.
+ */
+public class WaveComponent extends Component {
+    public int WaveAmplitude;
+    public int WavelengthPx;
+    public int WavePeriodMillis;
+    public float SpriteScaleMultiplierX;
+    public float SpriteScaleMultiplierY;
+
+    private final Supplier<Transform2D> waveFollowerSupplier;
+    private final int totalWaveWidth;
+    private final int totalWaveHeight;
+    private final int sortingLayer;
+    private final int offsetWidthPercent;
+    private final int offsetHeightPercent;
+
+    // Moves every follower in one pass, followers carry no components of their own.
+    private final WaveSolver waveSolver = new WaveSolver();
+    private final ArrayList<Transform2D> waveFollowers = new ArrayList<>();
+    private int waveFollowerHeight;
+
+    private Bitmap meshBitmap;
+    private Paint meshPaint;
+    private boolean logicFollowers;
+    private MiniMesh mesh;
+
+
+    public WaveComponent(Supplier<Transform2D> waveFollowerSupplier,
+                         int offsetWidthPercent,
+                         int offsetHeightPercent,
+                         int totalWaveWidth,
+                         int totalWaveHeight,
+                         int waveAmplitude,
+                         int wavelengthPx,
+                         int wavePeriodMillis,
+                         float spriteScaleMultiplierX,
+                         float spriteScaleMultiplierY,
+                         int sortingLayer
+    ){
+        this.waveFollowerSupplier = waveFollowerSupplier;
+        this.totalWaveWidth = totalWaveWidth;
+        this.totalWaveHeight = totalWaveHeight;
+        this.offsetWidthPercent = offsetWidthPercent;
+        this.offsetHeightPercent = offsetHeightPercent;
+        this.WaveAmplitude = waveAmplitude;
+        this.WavelengthPx = wavelengthPx;
+        this.WavePeriodMillis = wavePeriodMillis;
+        this.SpriteScaleMultiplierX = spriteScaleMultiplierX;
+        this.SpriteScaleMultiplierY = spriteScaleMultiplierY;
+        this.sortingLayer = sortingLayer;
+    }
+
+    /**
+     * Draw the whole wave as one strip of bitmap (MiniMesh) bending with the wave, instead of one transform per follower.
+     * Looks like a continuous band rather than separate sprites. Call before the wave starts.
+     * @param bitmap Bitmap stretched along the wave, e.g. the followers' bitmap.
+     * @param paint Paint used when drawing, may be null.
+     * @param logicFollowers True to still create and move followers, without drawing them, e.g. to check collisions with getFollower.
+     */
+    public void setMeshRendering(@NonNull Bitmap bitmap, Paint paint, boolean logicFollowers){
+        this.meshBitmap = bitmap;
+        this.meshPaint = paint;
+        this.logicFollowers = logicFollowers;
+    }
+
+    public int getFollowerCount(){
+        return waveFollowers.size();
+    }
+
+    /**
+     * @param index 0 is the leftmost follower.
+     * @return Follower transform. With mesh rendering, only there if logic followers were requested, and not drawn.
+     */
+    public Transform2D getFollower(int index){
+        return waveFollowers.get(index);
+    }
+
+    // TODO: Next - Sprite copy
+    // Supplier functions
+    @Override
+    public void start(Transform2D ownerTransform, Canvas canvas, MiniSpriteSurface miniSpriteSurface) {
+        int waveFollowerWidth = totalWaveWidth / 20;;
+        waveFollowerHeight = totalWaveHeight / 30;
+        int waveFollowerCount = (int)(5f * ((float) totalWaveWidth) / waveFollowerWidth);
+        boolean createFollowers = meshBitmap == null || logicFollowers;
+        waveFollowers.ensureCapacity(createFollowers ? waveFollowerCount : 0);
+
+        for(int i = 0; i < waveFollowerCount; i++){
+            double waveWidthPercentage = ((double) i) / (waveFollowerCount - 1);
+            int relativeXPositionWave = (int)((waveWidthPercentage - 0.5f) * totalWaveWidth);
+
+            if(!createFollowers){
+                // Mesh columns only need the wave height at each follower's position.
+                waveSolver.add(null, relativeXPositionWave);
+                continue;
+            }
+
+            Transform2D waveFollower = waveFollowerSupplier.get();
+            waveFollower.Parent = ownerTransform;
+            waveFollower.PositionX = relativeXPositionWave;
+            waveFollower.PositionY = 0;
+            waveFollower.Width = waveFollowerWidth;
+            waveFollower.Height = waveFollowerHeight;
+
+            waveSolver.add(waveFollower, relativeXPositionWave);
+            waveFollowers.add(waveFollower);
+            MiniLog.log(MiniLog.DEBUG, "MiniSpriteWaveComponent", "Added wave follower at x position {}", waveFollower.PositionX);
+        }
+
+        if(meshBitmap == null){
+            miniSpriteSurface.AllTransforms.instantiateTransforms(waveFollowers, sortingLayer);
+            return;
+        }
+
+        // One column per follower position.
+        mesh = new MiniMesh.Builder(meshBitmap)
+                .withName("Wave mesh")
+                .withPaint(meshPaint)
+                .withMeshSize(Math.max(1, waveFollowerCount - 1), 1)
+                .withDimensions(totalWaveWidth, waveFollowerHeight)
+                .build();
+        mesh.Parent = ownerTransform;
+        miniSpriteSurface.AllTransforms.instantiateTransform(mesh, sortingLayer);
+    }
+
+    @Override
+    public void update(Transform2D ownerTransform, Canvas canvas, MiniSpriteSurface miniSpriteSurface) {
+        waveSolver.solve(miniSpriteSurface.getFrameClock().getTimeMillis(),
+                WaveAmplitude, WavelengthPx, WavePeriodMillis, SpriteScaleMultiplierX, SpriteScaleMultiplierY);
+        if(mesh != null){
+            updateMesh();
+        }
+        MiniLog.log(MiniLog.VERBOSE, "MiniSpriteWaveComponent", "Updating wave component");
+    }
+
+    /**
+     * Place the top and bottom vertex of each mesh column straight from the solved wave heights.
+     */
+    private void updateMesh(){
+        float halfHeight = waveFollowerHeight * SpriteScaleMultiplierY / 2;
+        for (int i = 0; i < waveSolver.size() && i <= mesh.getColumns(); i++) {
+            float x = waveSolver.getWaveXPosition(i);
+            float height = waveSolver.getHeight(i);
+            mesh.setVertex(i, 0, x, height - halfHeight);
+            mesh.setVertex(i, 1, x, height + halfHeight);
+        }
+
+        // Bounds cover the strip at its highest and lowest, for dirty region rendering.
+        mesh.Width = totalWaveWidth;
+        mesh.Height = (int) (2 * (halfHeight + Math.abs(WaveAmplitude)));
+        mesh.invalidate();
+    }
+
+    @Override
+    public Component createCopy() {
+        WaveComponent component = new WaveComponent(
+                waveFollowerSupplier,
+                offsetWidthPercent,
+                offsetHeightPercent,
+                totalWaveWidth,
+                totalWaveHeight,
+                WaveAmplitude,
+                WavelengthPx,
+                WavePeriodMillis,
+                SpriteScaleMultiplierX,
+                SpriteScaleMultiplierY,
+                sortingLayer
+        );
+        if(meshBitmap != null){
+            component.setMeshRendering(meshBitmap, meshPaint, logicFollowers);
+        }
+        return component;
+    }
+}
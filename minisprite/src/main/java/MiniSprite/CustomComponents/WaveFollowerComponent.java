@@ -1,9 +1,9 @@
 package MiniSprite.CustomComponents;
 
 import android.graphics.Canvas;
-import android.util.Log;
 
 import MiniSprite.Component;
+import MiniSprite.Internal.MiniLog;
 import MiniSprite.MiniSpriteSurface;
 import MiniSprite.Transform2D;
 
@@ -39,18 +39,23 @@ public class WaveFollowerComponent extends Component {
         spriteStartYPosition = ownerTransform.PositionY;
         spriteStartWidth = ownerTransform.Width;
         spriteStartHeight = ownerTransform.Height;
-        Log.d("MiniSpriteWaveComponent", "Started wave follower " + ownerTransform.Name);
+        MiniLog.log(MiniLog.DEBUG, "MiniSpriteWaveComponent", "Started wave follower {}", ownerTransform.Name);
     }
 
     @Override
     public void update(Transform2D ownerTransform, Canvas canvas, MiniSpriteSurface miniSpriteSurface) {
-        time = System.currentTimeMillis();
+        time = miniSpriteSurface.getFrameClock().getTimeMillis();
 
         ownerTransform.PositionY = spriteStartYPosition + (int)(calculateWaveHeight(waveXPosition, time));
         ownerTransform.Width = (int)(spriteStartWidth * spriteXScale);
         ownerTransform.Height = (int)(spriteStartHeight * spriteYScale);
     }
 
+    @Override
+    public boolean isParallelSafe() {
+        return true;
+    }
+
     @Override
     public Component createCopy() {
         WaveFollowerComponent component = new WaveFollowerComponent(
@@ -73,7 +78,7 @@ public class WaveFollowerComponent extends Component {
         return component;
     }
 
-    private double calculateWaveHeight(int position, double elapsedTimeMs){
+    double calculateWaveHeight(int position, double elapsedTimeMs){
         return amplitude * Math.sin((TAU / wavelengthPx) * position - (TAU / periodMillis) * elapsedTimeMs);
     }
 }
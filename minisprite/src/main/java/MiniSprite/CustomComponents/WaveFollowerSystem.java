@@ -0,0 +1,67 @@
+package MiniSprite.CustomComponents;
+
+import android.graphics.Canvas;
+
+import java.util.Arrays;
+
+import MiniSprite.ComponentSystem;
+import MiniSprite.MiniSpriteSurface;
+
+/**
+ * Batch update for every WaveFollowerComponent, same result as their own update.
+ * Follower fields are copied into flat arrays when entities are rebuilt,
+ * call invalidate() after changing them on followers this system already updates.
+ * miniSpriteSurface.registerSystem(new WaveFollowerSystem());
+ */
+public class WaveFollowerSystem extends ComponentSystem<WaveFollowerComponent> {
+    private static final double TAU = 2 * Math.PI;
+
+    // Per entity terms of WaveFollowerComponent.calculateWaveHeight and its resulting size.
+    private int[] startYPositions = new int[0];
+    private double[] amplitudes = new double[0];
+    private double[] spatialPhases = new double[0];
+    private double[] angularFrequencies = new double[0];
+    private int[] widths = new int[0];
+    private int[] heights = new int[0];
+
+    public WaveFollowerSystem(){
+        super(WaveFollowerComponent.class);
+    }
+
+    @Override
+    protected void onEntitiesChanged() {
+        if(startYPositions.length < Storage.Count){
+            int capacity = Storage.Transforms.length;
+            startYPositions = Arrays.copyOf(startYPositions, capacity);
+            amplitudes = Arrays.copyOf(amplitudes, capacity);
+            spatialPhases = Arrays.copyOf(spatialPhases, capacity);
+            angularFrequencies = Arrays.copyOf(angularFrequencies, capacity);
+            widths = Arrays.copyOf(widths, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+        }
+
+        for (int i = 0; i < Storage.Count; i++) {
+            WaveFollowerComponent follower = getComponent(i);
+            startYPositions[i] = follower.spriteStartYPosition;
+            amplitudes[i] = follower.amplitude;
+            spatialPhases[i] = (TAU / follower.wavelengthPx) * follower.waveXPosition;
+            angularFrequencies[i] = TAU / follower.periodMillis;
+            widths[i] = (int)(follower.spriteStartWidth * follower.spriteXScale);
+            heights[i] = (int)(follower.spriteStartHeight * follower.spriteYScale);
+        }
+    }
+
+    @Override
+    protected void update(Canvas canvas, MiniSpriteSurface miniSpriteSurface) {
+        double time = miniSpriteSurface.getFrameClock().getTimeMillis();
+        int[] positionY = Storage.PositionY;
+        int[] width = Storage.Width;
+        int[] height = Storage.Height;
+
+        for (int i = 0; i < Storage.Count; i++) {
+            positionY[i] = startYPositions[i] + (int)(amplitudes[i] * Math.sin(spatialPhases[i] - angularFrequencies[i] * time));
+            width[i] = widths[i];
+            height[i] = heights[i];
+        }
+    }
+}
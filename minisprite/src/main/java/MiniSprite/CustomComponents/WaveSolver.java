@@ -0,0 +1,111 @@
+package MiniSprite.CustomComponents;
+
+import java.util.Arrays;
+
+import MiniSprite.Transform2D;
+
+/**
+ * Moves every follower of one wave in a single pass over flat arrays.
+ * height = amplitude * sin(kx - wt) = amplitude * (sin(kx) cos(wt) - cos(kx) sin(wt)),
+ * sin(kx) and cos(kx) only change with wavelength so are kept per follower,
+ * leaving one sin and one cos per step for the whole wave instead of one sin per follower.
+ * Heights are kept after solving, e.g. for WaveComponent's mesh rendering.
+ */
+public final class WaveSolver {
+    private static final double TAU = 2 * Math.PI;
+
+    private Transform2D[] followers = new Transform2D[0];
+    private int[] waveXPositions = new int[0];
+    private int[] startYPositions = new int[0];
+    private int[] startWidths = new int[0];
+    private int[] startHeights = new int[0];
+    private float[] sinKx = new float[0];
+    private float[] cosKx = new float[0];
+    private float[] heights = new float[0];
+    private int count;
+    // Wavelength sinKx and cosKx were computed with, 0 if stale.
+    private int solvedWavelengthPx;
+
+    /**
+     * @param follower Transform to move, its current PositionY, Width and Height are the rest pose.
+     *                 Null to only solve the height at waveXPosition.
+     * @param waveXPosition Position along the wave.
+     */
+    public void add(Transform2D follower, int waveXPosition){
+        if(count == followers.length){
+            int capacity = Math.max(16, count * 2);
+            followers = Arrays.copyOf(followers, capacity);
+            waveXPositions = Arrays.copyOf(waveXPositions, capacity);
+            startYPositions = Arrays.copyOf(startYPositions, capacity);
+            startWidths = Arrays.copyOf(startWidths, capacity);
+            startHeights = Arrays.copyOf(startHeights, capacity);
+            sinKx = Arrays.copyOf(sinKx, capacity);
+            cosKx = Arrays.copyOf(cosKx, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+        }
+
+        followers[count] = follower;
+        waveXPositions[count] = waveXPosition;
+        if(follower != null){
+            startYPositions[count] = follower.PositionY;
+            startWidths[count] = follower.Width;
+            startHeights[count] = follower.Height;
+        }
+        count++;
+        solvedWavelengthPx = 0;
+    }
+
+    public int size(){
+        return count;
+    }
+
+    public int getWaveXPosition(int index){
+        return waveXPositions[index];
+    }
+
+    /**
+     * @return Wave height at index as of the last solve, before truncating to whole pixels.
+     */
+    public float getHeight(int index){
+        return heights[index];
+    }
+
+    /**
+     * Solve heights, and write PositionY, Width and Height of every follower.
+     * @param timeMillis Wave time, e.g. miniSpriteSurface.getFrameClock().getTimeMillis().
+     * @param amplitude Peak height in pixels.
+     * @param wavelengthPx Distance it takes for wave to reset.
+     * @param periodMillis Time it takes for wave to reset. 0 or less holds the wave still.
+     * @param scaleX Width multiplier of every follower.
+     * @param scaleY Height multiplier of every follower.
+     */
+    public void solve(long timeMillis, int amplitude, int wavelengthPx, int periodMillis, float scaleX, float scaleY){
+        if(wavelengthPx != solvedWavelengthPx){
+            double k = TAU / wavelengthPx;
+            for (int i = 0; i < count; i++) {
+                sinKx[i] = (float) Math.sin(k * waveXPositions[i]);
+                cosKx[i] = (float) Math.cos(k * waveXPositions[i]);
+            }
+            solvedWavelengthPx = wavelengthPx;
+        }
+
+        // Wrap time to one period first so the phase keeps its precision however long the wave runs.
+        // No period to wrap to, the wave holds still instead of dividing by zero.
+        double phase = periodMillis > 0 ? TAU * (timeMillis % periodMillis) / periodMillis : 0;
+        float sinWt = (float) (amplitude * Math.sin(phase));
+        float cosWt = (float) (amplitude * Math.cos(phase));
+
+        for (int i = 0; i < count; i++) {
+            heights[i] = sinKx[i] * cosWt - cosKx[i] * sinWt;
+        }
+
+        for (int i = 0; i < count; i++) {
+            Transform2D follower = followers[i];
+            if(follower == null) continue;
+
+            follower.PositionY = startYPositions[i] + (int) heights[i];
+            follower.Width = (int) (startWidths[i] * scaleX);
+            follower.Height = (int) (startHeights[i] * scaleY);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package MiniSprite.CustomTransforms;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+import MiniSprite.Internal.RenderTarget;
+import MiniSprite.Internal.TransformSnapshot;
+import MiniSprite.Transform2D;
+
+/**
+ * Draw a bitmap deformed over a grid of vertices in one call (Canvas.drawBitmapMesh).
+ * The bitmap is spread evenly over the grid: columns + 1 by rows + 1 vertices, row by row from the top left.
+ * Starts as a flat grid filling width and height, move vertices with setVertex, then call invalidate.
+ * Vertices are relative to the transform's center, like the destination of a MiniSprite.
+ * Ex. WaveComponent.setMeshRendering draws a whole wave as a one row strip.
+ */
+public class MiniMesh extends Transform2D {
+    public Paint Paint;
+
+    private final Bitmap bitmap;
+    private final int columns;
+    private final int rows;
+    private final float[] vertices;
+
+    private MiniMesh(Builder builder){
+        super(builder);
+        Paint = builder.paint;
+        bitmap = builder.bitmap;
+        columns = builder.columns;
+        rows = builder.rows;
+        vertices = new float[(columns + 1) * (rows + 1) * 2];
+        resetVertices();
+    }
+
+    public MiniMesh(MiniMesh another){
+        super(another);
+        Paint = another.Paint;
+        bitmap = another.bitmap;
+        columns = another.columns;
+        rows = another.rows;
+        vertices = Arrays.copyOf(another.vertices, another.vertices.length);
+    }
+
+    public static class Builder extends Transform2D.Builder<MiniMesh.Builder> {
+        private final Bitmap bitmap;
+        private Paint paint;
+        private int columns = 1;
+        private int rows = 1;
+
+        /**
+         * @param bitmap Bitmap spread over the mesh.
+         */
+        public Builder(@NonNull Bitmap bitmap){
+            this.bitmap = bitmap;
+        }
+
+        /**
+         * @param paint Paint used when drawing mesh on canvas
+         * @return Self for builder pattern.
+         */
+        public Builder withPaint(Paint paint){
+            this.paint = paint;
+            return this;
+        }
+
+        /**
+         * @param columns Number of cells across, at least 1.
+         * @param rows Number of cells down, at least 1.
+         * @return Self for builder pattern.
+         */
+        public Builder withMeshSize(int columns, int rows){
+            if(columns < 1 || rows < 1) throw new IllegalArgumentException("Mesh needs at least 1 column and row, got " + columns + "x" + rows);
+            this.columns = columns;
+            this.rows = rows;
+            return this;
+        }
+
+        public MiniMesh build() {
+            return new MiniMesh(this);
+        }
+    }
+
+    public int getColumns() { return columns; }
+    public int getRows() { return rows; }
+
+    /**
+     * @param column 0 to columns inclusive.
+     * @param row 0 to rows inclusive.
+     * @param x Position relative to center.
+     * @param y Position relative to center.
+     */
+    public void setVertex(int column, int row, float x, float y){
+        int index = (row * (columns + 1) + column) * 2;
+        vertices[index] = x;
+        vertices[index + 1] = y;
+    }
+
+    /**
+     * Lay vertices out as a flat grid filling width and height.
+     */
+    public void resetVertices(){
+        for (int row = 0; row <= rows; row++) {
+            float y = Height * ((float) row / rows - 0.5f);
+            for (int column = 0; column <= columns; column++) {
+                setVertex(column, row, Width * ((float) column / columns - 0.5f), y);
+            }
+        }
+        invalidate();
+    }
+
+    @Override
+    public void relativeDraw(Canvas canvas) {
+        canvas.drawBitmapMesh(bitmap, columns, rows, vertices, 0, null, 0, Paint);
+    }
+
+    @Override
+    public void relativeDraw(RenderTarget target) {
+        target.drawBitmapMesh(bitmap, columns, rows, vertices, Paint);
+    }
+
+    @Override
+    public void writeSnapshot(TransformSnapshot snapshot) {
+        super.writeSnapshot(snapshot);
+        snapshot.Bitmap = bitmap;
+        snapshot.Paint = Paint;
+        snapshot.setVertices(vertices, vertices.length);
+    }
+
+    @Override
+    public void relativeDrawSnapshot(Canvas canvas, TransformSnapshot snapshot) {
+        canvas.drawBitmapMesh(snapshot.Bitmap, columns, rows, snapshot.Vertices, 0, null, 0, snapshot.Paint);
+    }
+}
@@ -0,0 +1,467 @@
+package MiniSprite.CustomTransforms;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import java.util.concurrent.CompletableFuture;
+
+import MiniSprite.Internal.BitmapCache;
+import MiniSprite.Internal.BitmapDecoder;
+import MiniSprite.Internal.MiniLog;
+import MiniSprite.Internal.PackageUtilities;
+import MiniSprite.Internal.RenderTarget;
+import MiniSprite.Internal.SpriteBatcher;
+import MiniSprite.Internal.SpriteSheet;
+import MiniSprite.Internal.TransformSnapshot;
+import MiniSprite.Transform2D;
+
+/**
+ * Draw sprite with drawable.
+ * Implicitly sliced using drawable width/height and slice column and row information (1x1 by default).
+ * Ex.
+ * Drawable is 128x128 pixels and 4 rows 4 columns = slice into 16 32x32 bit images
+ * Index 0 is top left, index 15 is bottom right.
+ * SetSliceIndex wraps any value higher than 15 back to 0.
+ *
+ * With async decode, build returns before the bitmap is decoded.
+ * Until it is ready the sprite draws its placeholder (or nothing), see getBitmapFuture.
+ */
+public class MiniSprite extends Transform2D {
+    public Paint Paint;
+
+    private final int drawableId;
+    private final Resources resources;
+    private final boolean useBitmapCache;
+    private final Bitmap.Config bitmapConfig;
+    // Volatile as async decode sets it from a decode thread, slice size is written before it.
+    private volatile Bitmap scaledBitmap;
+    // Set while holding a reference to a bitmap shared through BitmapCache.
+    private BitmapCache.Key cachedBitmapKey;
+    private boolean destroyed;
+
+    private final Bitmap placeholderBitmap;
+    private volatile BitmapDecoder.DecodeRequest decodeRequest;
+    // Counts bitmap swaps, which may happen on a decode thread, separate from invalidate which is only called by the owning thread.
+    private volatile int bitmapVersion;
+    private final CompletableFuture<MiniSprite> bitmapFuture = new CompletableFuture<>();
+
+    private final int sliceCount;
+    private int sliceColumnLength = 1;
+    private int sliceRowLength = 1;
+    private int sliceIndex;
+    // Shared slice rectangles of the bitmap, written before scaledBitmap.
+    private SpriteSheet spriteSheet;
+
+    // Reused every draw so drawing allocates nothing.
+    private final Rect sourceRect = new Rect();
+    private final Rect destinationRect = new Rect();
+
+    private MiniSprite(Builder builder) {
+        super(builder);
+        drawableId = builder.drawableId;
+        resources = builder.resources;
+        Width = builder.width;
+        Height = builder.height;
+        Paint = builder.paint;
+        sliceColumnLength = builder.sliceColumnLength;
+        sliceRowLength = builder.sliceRowLength;
+        useBitmapCache = builder.useBitmapCache;
+        bitmapConfig = builder.bitmapConfig;
+        placeholderBitmap = builder.placeholderBitmap;
+
+        if(builder.bitmap != null)
+            setBitmap(builder.bitmap);
+        else if(builder.asyncDecode && builder.downscale)
+            loadBitmapAsync(builder.width, builder.height, builder.decodePriority);
+        else if(builder.asyncDecode)
+            loadBitmapAsync(0, 0, builder.decodePriority);
+        else if(builder.downscale)
+            downscaleBitmap(builder.width, builder.height);
+        else
+            decodeBitmap();
+
+        sliceCount = sliceColumnLength * sliceRowLength;
+        setSliceIndex(builder.sliceIndex);
+    }
+
+    /**
+     * Safely creates a MiniSprite. Nifty!
+     * More info on the pattern: <a href="https://stackoverflow.com/questions/17164375/subclassing-a-java-builder-class">...</a>
+     */
+    public static class Builder extends Transform2D.Builder<Builder> {
+        private int drawableId;
+        private Resources resources;
+        private Bitmap bitmap = null;
+
+        private Paint paint;
+        private int width;
+        private int height;
+        private boolean downscale = false;
+        private int sliceIndex;
+        private int sliceColumnLength = 1;
+        private int sliceRowLength = 1;
+        private boolean useBitmapCache = true;
+        private Bitmap.Config bitmapConfig = Bitmap.Config.ARGB_8888;
+        private boolean asyncDecode = false;
+        private int decodePriority = BitmapDecoder.PRIORITY_DEFAULT;
+        private Bitmap placeholderBitmap;
+
+        /**
+         * Creates bitmap using drawable and resources
+         * @param drawableId R.drawable.my_resource
+         * @param resources Activity's getResources(), or any resource collection.
+         */
+        public Builder(int drawableId, Resources resources) {
+            this.drawableId = drawableId;
+            this.resources = resources;
+        }
+
+        public Builder(Bitmap bitmap){
+            this.bitmap = bitmap;
+        }
+
+        /**
+         * @param paint Paint used when drawing sprite on canvas
+         * @return Self for builder pattern.
+         */
+        public Builder withPaint(Paint paint){
+            this.paint = paint;
+            return this;
+        }
+
+        /**
+         * Width and height on screen when drawing.
+         * @param width Width in pixels
+         * @param height Height in pixels
+         * @return Self for builder pattern/
+         */
+        public Builder withDimensions(int width, int height){
+            this.width = width;
+            this.height = height;
+            return this;
+        }
+
+        /**
+         * Downscales bitmap.
+         * Recommended if dimensions won't get bigger over lifespan to reduce bitmap size.
+         * @param downscale
+         * @return
+         */
+        public Builder withDownscaleFlag(boolean downscale){
+            this.downscale = downscale;
+            return this;
+        }
+
+        /**
+         * The drawable can be a spritesheet with fixed row/column size.
+         * Implicitly sliced using drawable width/height and slice column and row information (1x1 by default).
+         * Ex.
+         * Drawable is 128x128 pixels and 4 rows 4 columns = slice into 16 32x32 bit images
+         * Index 0 is top left, index 15 is bottom right.
+         * setSliceIndex wraps any value higher than 15 back to 0.
+         * @param sliceColumnLength Number of columns in your spritesheet.
+         * @param sliceRowLength Number of rows in your spritesheet.
+         * @return Self for builder pattern.
+         */
+        public Builder withSliceDimensions(int sliceColumnLength, int sliceRowLength){
+            this.sliceColumnLength = sliceColumnLength;
+            this.sliceRowLength = sliceRowLength;
+            return this;
+        }
+
+        /**
+         * Sets slice index. Wraps any value higher than slice count (columns * rows) back to 0.
+         * See with slice dimensions for more info.
+         * @param sliceIndex Which slice of spritesheet to display
+         * @return Self for builder pattern.
+         */
+        public Builder withSliceIndex(int sliceIndex){
+            this.sliceIndex = sliceIndex;
+            return this;
+        }
+
+        /**
+         * By default sprites built from the same drawable, dimensions (if downscaled) and config share one decoded bitmap.
+         * Disable to give this sprite its own copy, e.g. if it will draw into its bitmap.
+         * @param useBitmapCache True to share the bitmap through BitmapCache.
+         * @return Self for builder pattern.
+         */
+        public Builder withBitmapCache(boolean useBitmapCache){
+            this.useBitmapCache = useBitmapCache;
+            return this;
+        }
+
+        /**
+         * @param bitmapConfig Pixel format to decode drawable in. RGB_565 halves memory for opaque sprites.
+         * @return Self for builder pattern.
+         */
+        public Builder withBitmapConfig(Bitmap.Config bitmapConfig){
+            this.bitmapConfig = bitmapConfig;
+            return this;
+        }
+
+        /**
+         * Decode the drawable on a background thread so build returns immediately.
+         * Recommended when building scenes in onPreUpdate, which runs on the Animate thread.
+         * @param asyncDecode True to decode in the background.
+         * @return Self for builder pattern.
+         */
+        public Builder withAsyncDecode(boolean asyncDecode){
+            this.asyncDecode = asyncDecode;
+            return this;
+        }
+
+        /**
+         * Decodes with higher priority run first. Sprites drawn on screen before they are decoded
+         * are promoted to BitmapDecoder.PRIORITY_VISIBLE automatically.
+         * @param decodePriority Priority of this sprite's async decode.
+         * @return Self for builder pattern.
+         */
+        public Builder withDecodePriority(int decodePriority){
+            this.decodePriority = decodePriority;
+            return this;
+        }
+
+        /**
+         * @param placeholderBitmap Drawn stretched to width and height until an async decode finishes. Null draws nothing.
+         * @return Self for builder pattern.
+         */
+        public Builder withPlaceholder(Bitmap placeholderBitmap){
+            this.placeholderBitmap = placeholderBitmap;
+            return this;
+        }
+
+        public MiniSprite build() {
+            return new MiniSprite(this);
+        }
+    }
+
+    @Override
+    public void relativeDraw(Canvas canvas) {
+        if(scaledBitmap == null){
+            promoteDecodeIfVisible(canvas.getWidth(), canvas.getHeight());
+            drawPlaceholder(canvas);
+            return;
+        }
+
+        setSliceRect(sourceRect);
+        destinationRect.set(-Width/2, -Height/2, Width/2, Height/2);
+        canvas.drawBitmap(scaledBitmap, sourceRect, destinationRect, Paint);
+    }
+
+    @Override
+    public void relativeDraw(RenderTarget target) {
+        Bitmap bitmap = scaledBitmap;
+        if(bitmap == null){
+            promoteDecodeIfVisible(target.getWidth(), target.getHeight());
+            if(placeholderBitmap != null){
+                target.drawBitmap(placeholderBitmap, 0, 0, placeholderBitmap.getWidth(), placeholderBitmap.getHeight(),
+                        -Width/2, -Height/2, Width/2, Height/2, Paint);
+            }
+            return;
+        }
+
+        SpriteSheet sheet = spriteSheet;
+        target.drawBitmap(bitmap, sheet.getLeft(sliceIndex), sheet.getTop(sliceIndex), sheet.getRight(sliceIndex), sheet.getBottom(sliceIndex),
+                -Width/2, -Height/2, Width/2, Height/2, Paint);
+    }
+
+    @Override
+    public boolean isCullable() {
+        return true;
+    }
+
+    @Override
+    public boolean addToBatch(SpriteBatcher batcher) {
+        Bitmap bitmap = scaledBitmap;
+        // Not decoded yet, drawn (and its decode promoted) through relativeDraw instead.
+        if(bitmap == null) return false;
+
+        SpriteSheet sheet = spriteSheet;
+        batcher.add(bitmap, Paint, getDrawAffine(),
+                sheet.getLeft(sliceIndex), sheet.getTop(sliceIndex), sheet.getRight(sliceIndex), sheet.getBottom(sliceIndex),
+                -Width/2, -Height/2, Width/2, Height/2);
+        return true;
+    }
+
+    @Override
+    public void writeSnapshot(TransformSnapshot snapshot) {
+        super.writeSnapshot(snapshot);
+        snapshot.Paint = Paint;
+        snapshot.DestinationRect.set(-Width/2, -Height/2, Width/2, Height/2);
+
+        Bitmap bitmap = scaledBitmap;
+        if(bitmap != null){
+            snapshot.Bitmap = bitmap;
+            setSliceRect(snapshot.SourceRect);
+            snapshot.Batchable = true;
+        } else {
+            // Only transforms inside the viewport are captured, unless culling is off.
+            promoteDecode();
+            snapshot.Bitmap = placeholderBitmap;
+            if(placeholderBitmap != null){
+                snapshot.SourceRect.set(0, 0, placeholderBitmap.getWidth(), placeholderBitmap.getHeight());
+            }
+        }
+    }
+
+    @Override
+    public void relativeDrawSnapshot(Canvas canvas, TransformSnapshot snapshot) {
+        if(snapshot.Bitmap == null) return;
+        canvas.drawBitmap(snapshot.Bitmap, snapshot.SourceRect, snapshot.DestinationRect, snapshot.Paint);
+    }
+
+    private void setSliceRect(Rect rect){
+        spriteSheet.setRect(sliceIndex, rect);
+
+        MiniLog.log(MiniLog.VERBOSE, PackageUtilities.LOG_CONTINUOUS_TAG, "Drawing sprite, source (L:{}, T:{}, R:{}, B:{})",
+                rect.left, rect.top, rect.right, rect.bottom);
+    }
+
+    public int getSliceIndex() { return sliceIndex; }
+    public int getSliceCount() { return sliceCount; }
+    public void setSliceIndex(int sliceIndex) {
+        int wrappedSliceIndex = sliceIndex % sliceCount;
+        if(wrappedSliceIndex == this.sliceIndex) return;
+
+        this.sliceIndex = wrappedSliceIndex;
+        invalidate();
+    }
+    public void nextSlice(){ setSliceIndex(sliceIndex + 1); }
+
+    /**
+     * Get sprite's bitmap that was either assigned or built from resources.
+     * Manipulating this bitmaps' size may cause slicing error.
+     * Recommended to reuse when creating many similar sprites.
+     * @return Sprite's bitmap.
+     */
+    public Bitmap getBitmap() { return scaledBitmap; }
+
+    /**
+     * Decode bitmap based on resources and drawableId
+     */
+    public void decodeBitmap(){
+        loadBitmap(0, 0);
+    }
+
+    /**
+     * If rescaling sprite, may want to rescale bitmap if much smaller to improve performance.
+     * @param bitmapWidth New x pixel size of drawable itself. Downsize -> only applies if below current x size.
+     * @param bitmapHeight New y pixel size of drawable itself. Downsize -> only applies if below current y size.
+     */
+    public void downscaleBitmap(int bitmapWidth, int bitmapHeight){
+        loadBitmap(bitmapWidth, bitmapHeight);
+    }
+
+    /**
+     * Give back this sprite's reference to its shared bitmap so BitmapCache may evict it.
+     * Called automatically when the sprite is destroyed. The sprite can still draw the bitmap afterwards.
+     */
+    public synchronized void releaseBitmap(){
+        if(cachedBitmapKey == null) return;
+
+        BitmapCache.getInstance().release(cachedBitmapKey);
+        cachedBitmapKey = null;
+    }
+
+    @Override
+    public void onDestroy() {
+        super.onDestroy();
+        synchronized (this){
+            destroyed = true;
+            releaseBitmap();
+        }
+    }
+
+    /**
+     * @return Completes with this sprite once its bitmap is ready. Already complete unless decoding asynchronously.
+     */
+    public CompletableFuture<MiniSprite> getBitmapFuture() { return bitmapFuture; }
+
+    /**
+     * @return True once the sprite has a bitmap to draw.
+     */
+    public boolean isBitmapReady() { return scaledBitmap != null; }
+
+    @Override
+    protected int getContentVersion() {
+        return super.getContentVersion() + bitmapVersion;
+    }
+
+    private void drawPlaceholder(Canvas canvas){
+        if(placeholderBitmap == null) return;
+
+        destinationRect.set(-Width/2, -Height/2, Width/2, Height/2);
+        canvas.drawBitmap(placeholderBitmap, null, destinationRect, Paint);
+    }
+
+    private void promoteDecodeIfVisible(int viewWidth, int viewHeight){
+        if(decodeRequest == null) return;
+
+        RectF bounds = getWorldBounds();
+        if(bounds.right >= 0 && bounds.bottom >= 0 && bounds.left <= viewWidth && bounds.top <= viewHeight){
+            promoteDecode();
+        }
+    }
+
+    private void promoteDecode(){
+        BitmapDecoder.DecodeRequest request = decodeRequest;
+        if(request != null){
+            BitmapDecoder.getInstance().promote(request, BitmapDecoder.PRIORITY_VISIBLE);
+        }
+    }
+
+    private void loadBitmapAsync(int bitmapWidth, int bitmapHeight, int priority){
+        BitmapCache.Key key = new BitmapCache.Key(drawableId, bitmapWidth, bitmapHeight, bitmapConfig);
+        decodeRequest = BitmapDecoder.getInstance().decode(key, resources, useBitmapCache, priority);
+        decodeRequest.getFuture().whenComplete((bitmap, error) -> onBitmapDecoded(key, bitmap, error));
+    }
+
+    private synchronized void onBitmapDecoded(BitmapCache.Key key, Bitmap bitmap, Throwable error){
+        decodeRequest = null;
+
+        if(error != null){
+            bitmapFuture.completeExceptionally(error);
+            return;
+        }
+
+        if(useBitmapCache){
+            if(destroyed){
+                // Destroyed while decoding, nothing will release this reference later.
+                BitmapCache.getInstance().release(key);
+            } else {
+                releaseBitmap();
+                cachedBitmapKey = key;
+            }
+        }
+
+        setBitmap(bitmap);
+    }
+
+    private synchronized void loadBitmap(int bitmapWidth, int bitmapHeight){
+        releaseBitmap();
+
+        BitmapCache.Key key = new BitmapCache.Key(drawableId, bitmapWidth, bitmapHeight, bitmapConfig);
+        if(useBitmapCache){
+            setBitmap(BitmapCache.getInstance().acquire(key, resources));
+            cachedBitmapKey = key;
+        } else {
+            setBitmap(BitmapCache.decode(key, resources));
+        }
+    }
+
+    private synchronized void setBitmap(Bitmap bitmap){
+        this.spriteSheet = SpriteSheet.get(bitmap.getWidth(), bitmap.getHeight(), sliceColumnLength, sliceRowLength);
+        MiniLog.log(MiniLog.DEBUG, PackageUtilities.LOG_TAG, "Pixels per slice with Columns: {} Rows: {} is (W:{}, H:{})",
+                sliceColumnLength, sliceRowLength, spriteSheet.getSliceWidth(), spriteSheet.getSliceHeight());
+
+        this.scaledBitmap = bitmap;
+        // Not invalidate, this can run on a decode thread while another thread reads the content version.
+        bitmapVersion++;
+        bitmapFuture.complete(this);
+    }
+}
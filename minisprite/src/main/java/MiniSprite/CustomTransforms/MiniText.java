@@ -0,0 +1,328 @@
+package MiniSprite.CustomTransforms;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+import MiniSprite.Internal.RenderTarget;
+import MiniSprite.Internal.SpriteBatcher;
+import MiniSprite.Internal.TransformSnapshot;
+import MiniSprite.Transform2D;
+
+/**
+ * Wrap text within transform - allows tracking parent transform and adding components.
+ * Note: Text size depends on Paint (e.g. paint.setTextSize(value);)
+ *
+ * Text is rendered once into a bitmap sized to its bounds, then only that bitmap is drawn each frame.
+ * It is rendered again when TextValue is assigned, or the Paint's color, size, typeface, alignment, style or flags change.
+ * Call invalidate after changing anything else on the Paint (e.g. its shader).
+ * Width and height are filled from the rendered text, so cached text is culled when off screen.
+ */
+public class MiniText extends Transform2D {
+    // Cached text is drawn filtered so it stays smooth when rotated.
+    private static final Paint CACHE_PAINT = new Paint(android.graphics.Paint.FILTER_BITMAP_FLAG);
+
+    public String TextValue;
+    public Paint Paint;
+
+    // TextValue is a public field, compared each frame instead of requiring invalidate.
+    private String lastTextValue;
+
+    private final boolean textCaching;
+    private final Rect textBounds = new Rect();
+    // Null if not cached, e.g. empty text, then text is drawn directly.
+    private Bitmap textCache;
+    // Where the cache is drawn, relative to the text origin.
+    private int textCacheLeft;
+    private int textCacheTop;
+    // Part of textCache the text was rendered into, a reused bitmap may be bigger.
+    private int textCacheWidth;
+    private int textCacheHeight;
+    // Draws into textCache, kept so rendering into a reused bitmap allocates nothing.
+    private Canvas textCacheCanvas;
+    private final Rect textCacheSourceRect = new Rect();
+    private final Rect textCacheDestinationRect = new Rect();
+    // Set once textCache was handed to a snapshot. The render thread may still draw it, so it is never drawn over.
+    private boolean textCacheShared;
+
+    // What textCache was rendered from.
+    private boolean textCacheRendered;
+    private String cachedText;
+    private Paint cachedPaint;
+    private int cachedContentVersion;
+    private int cachedColor;
+    private float cachedTextSize;
+    private Typeface cachedTypeface;
+    private Paint.Align cachedTextAlign;
+    private float cachedTextScaleX;
+    private float cachedTextSkewX;
+    private Paint.Style cachedStyle;
+    private float cachedStrokeWidth;
+    private int cachedFlags;
+
+    private MiniText(Builder builder){
+        super(builder);
+        TextValue = builder.textValue;
+        Paint = builder.paint;
+        textCaching = builder.textCaching;
+    }
+
+    public MiniText(MiniText another){
+        super(another);
+        TextValue = another.TextValue;
+        Paint = another.Paint;
+        textCaching = another.textCaching;
+    }
+
+    public static class Builder extends Transform2D.Builder<MiniText.Builder> {
+        private String textValue;
+        private Paint paint;
+        private boolean textCaching = true;
+
+        public Builder() {}
+
+        /**
+         * Set string of text to be displayed when drawn.
+         * @param textValue Non-null string to display.
+         * @return Self for builder pattern.
+         */
+        public Builder withTextValue(@NonNull String textValue){
+            this.textValue = textValue;
+            return this;
+        }
+
+        /**
+         * @param paint Paint used when drawing sprite on canvas
+         * @return Self for builder pattern.
+         */
+        public Builder withPaint(Paint paint){
+            this.paint = paint;
+            return this;
+        }
+
+        /**
+         * Note: Text size depends on Paint (e.g. paint.setTextSize(value);).
+         * With text caching, width and height are replaced by the rendered text's once drawn.
+         * @param width Width in pixels
+         * @param height Height in pixels
+         * @return Self for builder pattern
+         */
+        public Builder withDimensions(int width, int height){
+            super.withDimensions(width, height);
+            return this;
+        }
+
+        /**
+         * On by default. Turn off for text that changes nearly every frame (e.g. a timer),
+         * where rendering the text again each change costs more than drawing it directly.
+         * @param textCaching False to draw text directly every frame.
+         * @return Self for builder pattern.
+         */
+        public Builder withTextCaching(boolean textCaching){
+            this.textCaching = textCaching;
+            return this;
+        }
+
+        public MiniText build() {
+            return new MiniText(this);
+        }
+    }
+
+    // TODO: Anchoring and layouting within canvas
+    @Override
+    public void relativeDraw(Canvas canvas) {
+        updateTextCache();
+        if(textCache != null){
+            textCacheSourceRect.set(0, 0, textCacheWidth, textCacheHeight);
+            textCacheDestinationRect.set(textCacheLeft, textCacheTop, textCacheLeft + textCacheWidth, textCacheTop + textCacheHeight);
+            canvas.drawBitmap(textCache, textCacheSourceRect, textCacheDestinationRect, CACHE_PAINT);
+            return;
+        }
+        canvas.drawText(TextValue, 0,0 , Paint);
+    }
+
+    @Override
+    public void relativeDraw(RenderTarget target) {
+        updateTextCache();
+        if(textCache != null){
+            target.drawBitmap(textCache, 0, 0, textCacheWidth, textCacheHeight,
+                    textCacheLeft, textCacheTop, textCacheLeft + textCacheWidth, textCacheTop + textCacheHeight, CACHE_PAINT);
+            return;
+        }
+        target.drawText(TextValue, 0, 0, Paint);
+    }
+
+    @Override
+    public boolean isCullable() {
+        // Width and height only cover the text once cached.
+        return textCache != null;
+    }
+
+    @Override
+    public boolean isOutsideRect(float left, float top, float right, float bottom) {
+        // Culling happens before drawing, render first so width and height are up to date.
+        updateTextCache();
+        return super.isOutsideRect(left, top, right, bottom);
+    }
+
+    @Override
+    public boolean addToBatch(SpriteBatcher batcher) {
+        updateTextCache();
+        if(textCache == null) return false;
+
+        batcher.add(textCache, CACHE_PAINT, getDrawAffine(),
+                0, 0, textCacheWidth, textCacheHeight,
+                textCacheLeft, textCacheTop, textCacheLeft + textCacheWidth, textCacheTop + textCacheHeight);
+        return true;
+    }
+
+    @Override
+    protected int getContentVersion() {
+        // Equal text assigned again, e.g. "Score " + score every frame, is not a change.
+        if(!Objects.equals(TextValue, lastTextValue)){
+            lastTextValue = TextValue;
+            invalidate();
+        }
+        updateTextCache();
+        return super.getContentVersion();
+    }
+
+    @Override
+    public void writeSnapshot(TransformSnapshot snapshot) {
+        updateTextCache();
+        super.writeSnapshot(snapshot);
+        snapshot.Text = TextValue;
+        snapshot.Paint = Paint;
+
+        // The next render makes a new bitmap rather than drawing over this one, so the render thread can keep drawing it.
+        Bitmap cache = textCache;
+        snapshot.Bitmap = cache;
+        if(cache != null){
+            textCacheShared = true;
+            snapshot.Paint = CACHE_PAINT;
+            snapshot.SourceRect.set(0, 0, textCacheWidth, textCacheHeight);
+            snapshot.DestinationRect.set(textCacheLeft, textCacheTop, textCacheLeft + textCacheWidth, textCacheTop + textCacheHeight);
+            snapshot.Batchable = true;
+        }
+    }
+
+    @Override
+    public void relativeDrawSnapshot(Canvas canvas, TransformSnapshot snapshot) {
+        if(snapshot.Bitmap != null){
+            canvas.drawBitmap(snapshot.Bitmap, snapshot.SourceRect, snapshot.DestinationRect, snapshot.Paint);
+            return;
+        }
+        canvas.drawText(snapshot.Text, 0, 0, snapshot.Paint);
+    }
+
+    /**
+     * Render text again if the text or paint changed since it was last rendered.
+     * Into the same bitmap while the new text fits and no snapshot holds it, otherwise into a new one.
+     */
+    private void updateTextCache(){
+        if(!textCaching) return;
+
+        Paint paint = Paint;
+        String text = TextValue;
+        // Equal text, not the same instance: "Score " + score makes a new string every frame.
+        if(textCacheRendered && Objects.equals(text, cachedText) && paint == cachedPaint && !isPaintChanged(paint)
+                && super.getContentVersion() == cachedContentVersion) return;
+
+        boolean rerender = textCacheRendered;
+        rememberCacheKey(text, paint);
+        Bitmap reusable = textCacheShared ? null : textCache;
+        textCache = null;
+        if(paint == null || text == null || text.isEmpty()) return;
+
+        paint.getTextBounds(text, 0, text.length(), textBounds);
+        if(textBounds.isEmpty()) return;
+
+        // Bounds are measured left aligned, shift them to where the paint's alignment draws.
+        float alignShift = 0;
+        if(paint.getTextAlign() == android.graphics.Paint.Align.CENTER){
+            alignShift = -paint.measureText(text) / 2;
+        } else if(paint.getTextAlign() == android.graphics.Paint.Align.RIGHT){
+            alignShift = -paint.measureText(text);
+        }
+
+        // Room for anti aliasing and strokes past the measured bounds.
+        int padding = 1 + (int) Math.ceil(paint.getStrokeWidth());
+        int left = (int) Math.floor(textBounds.left + alignShift) - padding;
+        int top = textBounds.top - padding;
+        int width = textBounds.width() + padding * 2 + 1;
+        int height = textBounds.height() + padding * 2;
+
+        Bitmap bitmap;
+        if(reusable != null && width <= reusable.getWidth() && height <= reusable.getHeight()){
+            bitmap = reusable;
+            bitmap.eraseColor(Color.TRANSPARENT);
+        } else {
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            // Null without a real graphics stack, e.g. headless, then text is drawn directly.
+            if(bitmap == null) return;
+
+            if(textCacheCanvas == null){
+                textCacheCanvas = new Canvas();
+            }
+            textCacheCanvas.setBitmap(bitmap);
+            textCacheShared = false;
+        }
+
+        textCacheCanvas.drawText(text, -left, -top, paint);
+        bitmap.prepareToDraw();
+
+        textCache = bitmap;
+        textCacheLeft = left;
+        textCacheTop = top;
+        textCacheWidth = width;
+        textCacheHeight = height;
+
+        // Transforms are centered on their position, cover the text on both sides of the origin.
+        Width = 2 * Math.max(Math.abs(left), Math.abs(left + width));
+        Height = 2 * Math.max(Math.abs(top), Math.abs(top + height));
+
+        if(rerender){
+            invalidate();
+        }
+        cachedContentVersion = super.getContentVersion();
+    }
+
+    private boolean isPaintChanged(Paint paint){
+        if(paint == null) return false;
+
+        return paint.getColor() != cachedColor
+                || paint.getTextSize() != cachedTextSize
+                || paint.getTypeface() != cachedTypeface
+                || paint.getTextAlign() != cachedTextAlign
+                || paint.getTextScaleX() != cachedTextScaleX
+                || paint.getTextSkewX() != cachedTextSkewX
+                || paint.getStyle() != cachedStyle
+                || paint.getStrokeWidth() != cachedStrokeWidth
+                || paint.getFlags() != cachedFlags;
+    }
+
+    private void rememberCacheKey(String text, Paint paint){
+        textCacheRendered = true;
+        cachedText = text;
+        cachedPaint = paint;
+        cachedContentVersion = super.getContentVersion();
+        if(paint == null) return;
+
+        cachedColor = paint.getColor();
+        cachedTextSize = paint.getTextSize();
+        cachedTypeface = paint.getTypeface();
+        cachedTextAlign = paint.getTextAlign();
+        cachedTextScaleX = paint.getTextScaleX();
+        cachedTextSkewX = paint.getTextSkewX();
+        cachedStyle = paint.getStyle();
+        cachedStrokeWidth = paint.getStrokeWidth();
+        cachedFlags = paint.getFlags();
+    }
+}
@@ -0,0 +1,82 @@
+package MiniSprite.Internal;
+
+import android.graphics.Matrix;
+
+/**
+ * 2D affine matrix math on plain float arrays, so transforms work without android.graphics (e.g. headless on a JVM).
+ * Arrays hold 6 values in android Matrix order: scale x, skew x, translate x, skew y, scale y, translate y.
+ */
+public final class Affine2D {
+    public static final int SIZE = 6;
+    public static final int SCALE_X = 0;
+    public static final int SKEW_X = 1;
+    public static final int TRANS_X = 2;
+    public static final int SKEW_Y = 3;
+    public static final int SCALE_Y = 4;
+    public static final int TRANS_Y = 5;
+
+    private Affine2D() {}
+
+    /**
+     * Same as Matrix.setRotate(degrees) then postTranslate(x, y).
+     */
+    public static void setRotateTranslate(float[] out, float degrees, float x, float y){
+        if(degrees == 0){
+            out[SCALE_X] = 1;
+            out[SKEW_X] = 0;
+            out[SKEW_Y] = 0;
+            out[SCALE_Y] = 1;
+        } else {
+            double radians = Math.toRadians(degrees);
+            float cos = (float) Math.cos(radians);
+            float sin = (float) Math.sin(radians);
+            out[SCALE_X] = cos;
+            out[SKEW_X] = -sin;
+            out[SKEW_Y] = sin;
+            out[SCALE_Y] = cos;
+        }
+        out[TRANS_X] = x;
+        out[TRANS_Y] = y;
+    }
+
+    /**
+     * out = a * b, same as Matrix.setConcat. out must not be a or b.
+     */
+    public static void concat(float[] out, float[] a, float[] b){
+        out[SCALE_X] = a[SCALE_X] * b[SCALE_X] + a[SKEW_X] * b[SKEW_Y];
+        out[SKEW_X] = a[SCALE_X] * b[SKEW_X] + a[SKEW_X] * b[SCALE_Y];
+        out[TRANS_X] = a[SCALE_X] * b[TRANS_X] + a[SKEW_X] * b[TRANS_Y] + a[TRANS_X];
+        out[SKEW_Y] = a[SKEW_Y] * b[SCALE_X] + a[SCALE_Y] * b[SKEW_Y];
+        out[SCALE_Y] = a[SKEW_Y] * b[SKEW_X] + a[SCALE_Y] * b[SCALE_Y];
+        out[TRANS_Y] = a[SKEW_Y] * b[TRANS_X] + a[SCALE_Y] * b[TRANS_Y] + a[TRANS_Y];
+    }
+
+    /**
+     * Same as Matrix.preTranslate, translating in the matrix's own space.
+     */
+    public static void preTranslate(float[] m, float x, float y){
+        m[TRANS_X] += m[SCALE_X] * x + m[SKEW_X] * y;
+        m[TRANS_Y] += m[SKEW_Y] * x + m[SCALE_Y] * y;
+    }
+
+    public static void set(float[] out, float[] m){
+        System.arraycopy(m, 0, out, 0, SIZE);
+    }
+
+    public static boolean isIdentity(float[] m){
+        return m[SCALE_X] == 1 && m[SKEW_X] == 0 && m[TRANS_X] == 0 &&
+                m[SKEW_Y] == 0 && m[SCALE_Y] == 1 && m[TRANS_Y] == 0;
+    }
+
+    /**
+     * Copy into an android Matrix.
+     * @param scratch Array of at least 9 floats to avoid allocating.
+     */
+    public static void toMatrix(float[] m, Matrix out, float[] scratch){
+        System.arraycopy(m, 0, scratch, 0, SIZE);
+        scratch[Matrix.MPERSP_0] = 0;
+        scratch[Matrix.MPERSP_1] = 0;
+        scratch[Matrix.MPERSP_2] = 1;
+        out.setValues(scratch);
+    }
+}
@@ -0,0 +1,82 @@
+package MiniSprite.Internal;
+
+import android.os.Looper;
+import android.view.Choreographer;
+
+/**
+ * Frame loop thread. Draws on vsync: Choreographer calls back on this thread's Looper with the vsync timestamp,
+ * which begins the frame on the FrameClock, so frames land on the display's refresh instead of drifting against it.
+ * Below the refresh rate, vsyncs are skipped until the next frame is due.
+ * No frame is begun until the drawable can draw, e.g. before its surface exists.
+ */
+public class Animator extends Thread implements Choreographer.FrameCallback {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int DEFAULT_TARGET_FRAME_RATE = 60;
+
+    IDrawable drawableActivity;
+    volatile boolean is_running=true;
+
+    private final FrameClock frameClock;
+    private volatile long targetFrameNanos = NANOS_PER_SECOND / DEFAULT_TARGET_FRAME_RATE;
+
+    // Set once the Looper is prepared, quit by finish.
+    private Looper looper;
+    private Choreographer choreographer;
+    private long nextFrameNanos;
+
+    public Animator(IDrawable drawableActivity, FrameClock frameClock){
+        this.drawableActivity = drawableActivity;
+        this.frameClock = frameClock;
+    }
+
+    public void run(){
+        Looper.prepare();
+        synchronized (this){
+            // Finished before it got going.
+            if(!is_running) return;
+            looper = Looper.myLooper();
+        }
+
+        choreographer = Choreographer.getInstance();
+        choreographer.postFrameCallback(this);
+        Looper.loop();
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if(!is_running) return;
+        choreographer.postFrameCallback(this);
+
+        long targetNanos = targetFrameNanos;
+        // A little early still counts, vsync timestamps jitter around the exact period.
+        if(frameTimeNanos < nextFrameNanos - targetNanos / 4) return;
+
+        nextFrameNanos += targetNanos;
+        if(nextFrameNanos <= frameTimeNanos){
+            // Missed vsyncs. Pace again from this one instead of rushing to catch up on missed frames.
+            nextFrameNanos = frameTimeNanos + targetNanos;
+        }
+
+        if(!drawableActivity.canDraw()) return;
+
+        frameClock.beginFrame(frameTimeNanos);
+        drawableActivity.draw();
+    }
+
+    /**
+     * @param framesPerSecond Frames to draw per second. Usually the display refresh rate, lower skips vsyncs.
+     */
+    public void setTargetFrameRate(int framesPerSecond){
+        if(framesPerSecond <= 0) throw new IllegalArgumentException("Target frame rate must be positive");
+        targetFrameNanos = NANOS_PER_SECOND / framesPerSecond;
+    }
+
+    public void finish(){
+        synchronized (this){
+            is_running = false;
+            if(looper != null){
+                looper.quit();
+            }
+        }
+    }
+}
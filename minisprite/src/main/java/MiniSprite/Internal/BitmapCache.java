@@ -0,0 +1,227 @@
+package MiniSprite.Internal;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process wide cache of decoded drawables, shared by every MiniSprite.
+ * Fifty sprites of the same drawable, size and config decode once and share one bitmap.
+ *
+ * Entries are reference counted: each sprite acquires on build and releases when destroyed.
+ * Only entries nobody references can be evicted, least recently released first, once they add up to more than the byte budget.
+ * Bitmaps in use do not count towards the budget, so releasing and acquiring again hits however many are in use.
+ * Evicted bitmaps are never recycled, a destroyed sprite may still be drawn again, the garbage collector frees them.
+ * Safe to use from any thread.
+ */
+public final class BitmapCache {
+    private static final BitmapCache INSTANCE = new BitmapCache(Runtime.getRuntime().maxMemory() / 8);
+
+    /**
+     * Identifies one decoded bitmap.
+     */
+    public static final class Key {
+        public final int DrawableId;
+        public final int Width;
+        public final int Height;
+        public final Bitmap.Config Config;
+
+        /**
+         * @param drawableId R.drawable.my_resource
+         * @param width Width to downscale to, 0 for full size.
+         * @param height Height to downscale to, 0 for full size.
+         * @param config Pixel format to decode in.
+         */
+        public Key(int drawableId, int width, int height, @NonNull Bitmap.Config config){
+            DrawableId = drawableId;
+            Width = width;
+            Height = height;
+            Config = config;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Key)) return false;
+
+            Key key = (Key) other;
+            return DrawableId == key.DrawableId && Width == key.Width && Height == key.Height && Config == key.Config;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = DrawableId;
+            hash = 31 * hash + Width;
+            hash = 31 * hash + Height;
+            hash = 31 * hash + Config.hashCode();
+            return hash;
+        }
+    }
+
+    private static final class Entry {
+        final Bitmap bitmap;
+        final int bytes;
+        int references;
+
+        Entry(Bitmap bitmap){
+            this.bitmap = bitmap;
+            this.bytes = bitmap.getAllocationByteCount();
+        }
+    }
+
+    private final HashMap<Key, Entry> entries = new HashMap<>();
+    // Entries nobody references, least recently released first. Trimming only walks these.
+    private final LinkedHashMap<Key, Entry> unreferenced = new LinkedHashMap<>();
+    private long maxBytes;
+    private long currentBytes;
+    private long unreferencedBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private BitmapCache(long maxBytes){
+        this.maxBytes = maxBytes;
+    }
+
+    public static BitmapCache getInstance(){
+        return INSTANCE;
+    }
+
+    /**
+     * Get a shared bitmap, decoding it if not cached. Every acquire must be matched by one release.
+     * Decoding happens outside the cache lock, so other threads are not held up by it.
+     * @param key Drawable, size and config to get.
+     * @param resources Resources to decode drawable from on a miss.
+     * @return Shared bitmap. Do not modify or recycle.
+     */
+    public Bitmap acquire(@NonNull Key key, @NonNull Resources resources){
+        synchronized (this){
+            Entry entry = entries.get(key);
+            if(entry != null){
+                if(entry.references == 0){
+                    unreferenced.remove(key);
+                    unreferencedBytes -= entry.bytes;
+                }
+                entry.references++;
+                hitCount++;
+                return entry.bitmap;
+            }
+            missCount++;
+        }
+
+        Bitmap bitmap = decode(key, resources);
+
+        synchronized (this){
+            Entry entry = entries.get(key);
+            if(entry == null){
+                entry = new Entry(bitmap);
+                entries.put(key, entry);
+                currentBytes += entry.bytes;
+            } else if(entry.references == 0){
+                // Another thread decoded the same key meanwhile and it was released since, share its bitmap and drop ours.
+                unreferenced.remove(key);
+                unreferencedBytes -= entry.bytes;
+            }
+            entry.references++;
+            return entry.bitmap;
+        }
+    }
+
+    /**
+     * Give back a bitmap from acquire. Once unreferenced it may be evicted.
+     * @param key Key the bitmap was acquired with.
+     */
+    public synchronized void release(@NonNull Key key){
+        Entry entry = entries.get(key);
+        if(entry == null || entry.references == 0) return;
+
+        entry.references--;
+        if(entry.references == 0){
+            unreferenced.put(key, entry);
+            unreferencedBytes += entry.bytes;
+            trimToBudget();
+        }
+    }
+
+    /**
+     * @param maxBytes Bytes of unreferenced bitmaps to keep around. Referenced bitmaps are never evicted.
+     */
+    public synchronized void setMaxBytes(long maxBytes){
+        this.maxBytes = maxBytes;
+        trimToBudget();
+    }
+
+    public synchronized long getMaxBytes() { return maxBytes; }
+    /**
+     * @return Bytes of every cached bitmap, in use or not.
+     */
+    public synchronized long getCurrentBytes() { return currentBytes; }
+
+    /**
+     * @return Bytes of cached bitmaps nobody references, the part held to the budget.
+     */
+    public synchronized long getUnreferencedBytes() { return unreferencedBytes; }
+    public synchronized long getHitCount() { return hitCount; }
+    public synchronized long getMissCount() { return missCount; }
+    public synchronized long getEvictionCount() { return evictionCount; }
+    public synchronized int getEntryCount() { return entries.size(); }
+
+    /**
+     * Evict every unreferenced bitmap, e.g. from onTrimMemory.
+     */
+    public synchronized void evictUnreferenced(){
+        long budget = maxBytes;
+        maxBytes = 0;
+        trimToBudget();
+        maxBytes = budget;
+    }
+
+    private void trimToBudget(){
+        Iterator<Map.Entry<Key, Entry>> iterator = unreferenced.entrySet().iterator();
+        while(unreferencedBytes > maxBytes && iterator.hasNext()){
+            Map.Entry<Key, Entry> eldest = iterator.next();
+            iterator.remove();
+            entries.remove(eldest.getKey());
+
+            int bytes = eldest.getValue().bytes;
+            unreferencedBytes -= bytes;
+            currentBytes -= bytes;
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Decode without caching. Used by acquire on a miss, and by sprites that opt out of sharing.
+     * @param key Drawable, size and config to decode.
+     * @param resources Resources to decode drawable from.
+     * @return New bitmap owned by the caller.
+     */
+    public static Bitmap decode(@NonNull Key key, @NonNull Resources resources){
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inPreferredConfig = key.Config;
+
+        Bitmap bitmap = BitmapFactory.decodeResource(resources, key.DrawableId, options);
+        if(MiniLog.isLoggable(MiniLog.DEBUG)){
+            // Resource name lookup is not free, skip it unless the message will be recorded.
+            MiniLog.log(MiniLog.DEBUG, PackageUtilities.LOG_TAG, "Decoded resource {} of scale (W:{}, H:{})",
+                    resources.getResourceName(key.DrawableId), bitmap.getWidth(), bitmap.getHeight());
+        }
+
+        if(key.Width > 0 && key.Height > 0 && key.Width * key.Height < bitmap.getWidth() * bitmap.getHeight()){
+            bitmap = Bitmap.createScaledBitmap(bitmap, key.Width, key.Height, false);
+            MiniLog.log(MiniLog.DEBUG, PackageUtilities.LOG_TAG, "Created scaled bitmap of scale (W:{}, H:{})", bitmap.getWidth(), bitmap.getHeight());
+        }
+
+        // On hardware canvases, upload the texture now rather than stalling the first frame that draws it.
+        bitmap.prepareToDraw();
+
+        return bitmap;
+    }
+}
@@ -0,0 +1,134 @@
+package MiniSprite.Internal;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decodes sprite bitmaps on a small pool of background threads so building sprites never blocks a frame.
+ * Requests run highest priority first, then in the order they were made.
+ * A request still waiting in the queue can be promoted, e.g. once its sprite is on screen.
+ */
+public final class BitmapDecoder {
+    public static final int PRIORITY_DEFAULT = 0;
+    public static final int PRIORITY_VISIBLE = 100;
+
+    private static final String THREAD_NAME = PackageUtilities.PACKAGE_NAME + ".Decode";
+    private static final BitmapDecoder INSTANCE = new BitmapDecoder();
+
+    /**
+     * One queued decode. Completes its future on a decode thread.
+     */
+    public static final class DecodeRequest implements Runnable, Comparable<DecodeRequest> {
+        private final BitmapCache.Key key;
+        private final Resources resources;
+        private final boolean useBitmapCache;
+        private final long sequence;
+        private final CompletableFuture<Bitmap> future = new CompletableFuture<>();
+        private volatile int priority;
+        // Set once a promote found it already taken off the queue, later promotes return straight away.
+        private volatile boolean dequeued;
+
+        private DecodeRequest(BitmapCache.Key key, Resources resources, boolean useBitmapCache, int priority, long sequence){
+            this.key = key;
+            this.resources = resources;
+            this.useBitmapCache = useBitmapCache;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        /**
+         * @return Completes with the decoded bitmap. If decoded through BitmapCache, the caller owns one reference to it.
+         */
+        public CompletableFuture<Bitmap> getFuture() { return future; }
+
+        public int getPriority() { return priority; }
+
+        @Override
+        public void run() {
+            try {
+                Bitmap bitmap = useBitmapCache
+                        ? BitmapCache.getInstance().acquire(key, resources)
+                        : BitmapCache.decode(key, resources);
+                future.complete(bitmap);
+            } catch (Throwable e) {
+                // OutOfMemoryError included, the likeliest failure for a large drawable. Left uncompleted, the sprite would wait forever.
+                MiniLog.log(MiniLog.ERROR, PackageUtilities.LOG_TAG, "Failed to decode drawable {}", key.DrawableId);
+                future.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public int compareTo(DecodeRequest other) {
+            if(priority != other.priority){
+                return priority > other.priority ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private BitmapDecoder(){
+        // Leave a core for the Animator thread.
+        int threadCount = Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1));
+        executor = new ThreadPoolExecutor(
+                threadCount,
+                threadCount,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_NAME);
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                });
+    }
+
+    public static BitmapDecoder getInstance(){
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a decode. Returns immediately.
+     * @param key Drawable, size and config to decode.
+     * @param resources Resources to decode drawable from.
+     * @param useBitmapCache True to share the result through BitmapCache.
+     * @param priority Higher runs sooner. See PRIORITY_DEFAULT and PRIORITY_VISIBLE.
+     * @return Request, whose future completes once decoded.
+     */
+    public DecodeRequest decode(@NonNull BitmapCache.Key key, @NonNull Resources resources, boolean useBitmapCache, int priority){
+        DecodeRequest request = new DecodeRequest(key, resources, useBitmapCache, priority, sequence.getAndIncrement());
+        // execute, not submit, so the queue orders our requests rather than wrapping FutureTasks.
+        executor.execute(request);
+        return request;
+    }
+
+    /**
+     * Move a request still waiting in the queue ahead of lower priority ones.
+     * Does nothing if it already started or has at least this priority, so it is cheap to call every frame.
+     * @param request Request from decode.
+     * @param priority New, higher priority.
+     */
+    public void promote(@NonNull DecodeRequest request, int priority){
+        if(request.priority >= priority || request.dequeued) return;
+
+        // Priority queues cannot reorder in place, take the request out and queue it again.
+        if(executor.remove(request)){
+            request.priority = priority;
+            executor.execute(request);
+        } else {
+            // Already running or done, removing again would only scan the queue every frame.
+            request.dequeued = true;
+        }
+    }
+}
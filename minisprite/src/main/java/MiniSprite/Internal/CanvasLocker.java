@@ -0,0 +1,74 @@
+package MiniSprite.Internal;
+
+import android.graphics.Canvas;
+import android.os.Build;
+import android.view.Surface;
+import android.view.SurfaceHolder;
+
+/**
+ * Locks a surface's canvas with the hardware (GPU) renderer when requested and available, software otherwise.
+ * Hardware canvases draw bitmaps as textures, so rotated and scaled sprites cost the CPU almost nothing.
+ *
+ * API 26+ locks through SurfaceHolder.lockHardwareCanvas, API 23-25 through the Surface directly,
+ * older versions and any lock that fails use the software canvas from then on.
+ * Lock and unlock from one thread at a time.
+ */
+public final class CanvasLocker {
+    private volatile boolean hardwareRequested;
+    private volatile boolean hardwareFailed;
+    // Set while locked through Surface.lockHardwareCanvas, which must be unlocked through the same Surface.
+    private Surface lockedSurface;
+
+    /**
+     * @param hardwareRequested True to lock hardware canvases where the platform allows.
+     */
+    public void setHardwareRequested(boolean hardwareRequested){
+        this.hardwareRequested = hardwareRequested;
+    }
+
+    /**
+     * @return True if locks currently return hardware canvases.
+     */
+    public boolean isHardwareActive(){
+        return hardwareRequested && !hardwareFailed && Build.VERSION.SDK_INT >= Build.VERSION_CODES.M;
+    }
+
+    /**
+     * @param holder Holder of surface to lock.
+     * @return Locked canvas for the whole surface, or null if the surface is not ready.
+     */
+    public Canvas lock(SurfaceHolder holder){
+        if(isHardwareActive()){
+            try {
+                if(Build.VERSION.SDK_INT >= Build.VERSION_CODES.O){
+                    return holder.lockHardwareCanvas();
+                }
+
+                Surface surface = holder.getSurface();
+                Canvas canvas = surface.lockHardwareCanvas();
+                lockedSurface = surface;
+                return canvas;
+            } catch (IllegalStateException | IllegalArgumentException e) {
+                hardwareFailed = true;
+                MiniLog.log(MiniLog.WARN, PackageUtilities.LOG_TAG, "Hardware canvas unavailable, falling back to software: {}", e);
+            }
+        }
+
+        return holder.lockCanvas();
+    }
+
+    /**
+     * @param holder Holder lock was called with.
+     * @param canvas Canvas returned by lock.
+     */
+    public void unlockAndPost(SurfaceHolder holder, Canvas canvas){
+        if(lockedSurface != null){
+            Surface surface = lockedSurface;
+            lockedSurface = null;
+            surface.unlockCanvasAndPost(canvas);
+            return;
+        }
+
+        holder.unlockCanvasAndPost(canvas);
+    }
+}
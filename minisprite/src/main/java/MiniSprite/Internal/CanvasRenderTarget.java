@@ -0,0 +1,71 @@
+package MiniSprite.Internal;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+/**
+ * RenderTarget drawing on an android Canvas. Reuse one instance, setCanvas each frame.
+ */
+public final class CanvasRenderTarget implements RenderTarget {
+    private Canvas canvas;
+    private final Matrix matrix = new Matrix();
+    private final float[] matrixValues = new float[9];
+    private final Rect sourceRect = new Rect();
+    private final Rect destinationRect = new Rect();
+
+    public CanvasRenderTarget() {}
+
+    public CanvasRenderTarget(Canvas canvas){
+        this.canvas = canvas;
+    }
+
+    public void setCanvas(Canvas canvas){
+        this.canvas = canvas;
+    }
+
+    @Override
+    public int getWidth() { return canvas.getWidth(); }
+
+    @Override
+    public int getHeight() { return canvas.getHeight(); }
+
+    @Override
+    public Canvas getCanvas() { return canvas; }
+
+    @Override
+    public void save() {
+        canvas.save();
+    }
+
+    @Override
+    public void restore() {
+        canvas.restore();
+    }
+
+    @Override
+    public void concat(float[] affine) {
+        Affine2D.toMatrix(affine, matrix, matrixValues);
+        canvas.concat(matrix);
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, int sourceLeft, int sourceTop, int sourceRight, int sourceBottom,
+                           int destinationLeft, int destinationTop, int destinationRight, int destinationBottom, Paint paint) {
+        sourceRect.set(sourceLeft, sourceTop, sourceRight, sourceBottom);
+        destinationRect.set(destinationLeft, destinationTop, destinationRight, destinationBottom);
+        canvas.drawBitmap(bitmap, sourceRect, destinationRect, paint);
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        canvas.drawText(text, x, y, paint);
+    }
+
+    @Override
+    public void drawBitmapMesh(Bitmap bitmap, int columns, int rows, float[] vertices, Paint paint) {
+        canvas.drawBitmapMesh(bitmap, columns, rows, vertices, 0, null, 0, paint);
+    }
+}
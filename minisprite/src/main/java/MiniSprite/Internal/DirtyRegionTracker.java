@@ -0,0 +1,98 @@
+package MiniSprite.Internal;
+
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import MiniSprite.Transform2D;
+
+/**
+ * Works out which part of the screen changed since the last frame, for dirty rectangle rendering.
+ * Each frame, every transform that moved or changed adds its old and new world bounds to the damage.
+ * SurfaceHolder.lockCanvas takes a single rectangle, so damage is merged into one bounding rectangle.
+ *
+ * Falls back to a full redraw when the damage would cover most of the screen anyway, when transforms were
+ * instantiated or destroyed, when the surface size changed, or when a transform that can draw outside its
+ * bounds changed (see Transform2D.isCullable).
+ */
+public final class DirtyRegionTracker {
+    private static final float DEFAULT_FULL_REDRAW_FRACTION = 0.5f;
+
+    private final RectF damage = new RectF();
+    private final Rect dirtyRect = new Rect();
+    private float fullRedrawFraction = DEFAULT_FULL_REDRAW_FRACTION;
+    private boolean fullRedrawRequested = true;
+    private boolean fullRedraw;
+    private int collectionVersion;
+    private int width;
+    private int height;
+
+    /**
+     * Redraw everything next frame, e.g. when a listener draws something new.
+     */
+    public void invalidateAll(){
+        fullRedrawRequested = true;
+    }
+
+    /**
+     * @param fullRedrawFraction Fraction of the screen damage may cover before redrawing all of it instead.
+     */
+    public void setFullRedrawFraction(float fullRedrawFraction){
+        this.fullRedrawFraction = fullRedrawFraction;
+    }
+
+    /**
+     * Collect damage of every transform. Call once per frame, after simulating.
+     * @return False if nothing changed and the frame can be skipped.
+     */
+    public boolean collect(DrawnTransformCollection transforms, int width, int height){
+        boolean full = fullRedrawRequested ||
+                collectionVersion != transforms.getVersion() ||
+                this.width != width ||
+                this.height != height;
+
+        damage.setEmpty();
+        // Every transform is visited even once a full redraw is certain, so all start the next frame up to date.
+        for (int i = 0; i < transforms.size(); i++) {
+            Transform2D transform = transforms.get(i);
+            if(transform.collectDamage(damage) && (!transform.isCullable() || transform.DebugMode)){
+                full = true;
+            }
+        }
+
+        fullRedrawRequested = false;
+        collectionVersion = transforms.getVersion();
+        this.width = width;
+        this.height = height;
+
+        if(!full){
+            if(damage.isEmpty()) return false;
+
+            damage.roundOut(dirtyRect);
+            // Filtered and anti aliased edges can bleed a pixel past the bounds.
+            dirtyRect.inset(-1, -1);
+            if(!dirtyRect.intersect(0, 0, width, height)) return false;
+
+            full = (float) dirtyRect.width() * dirtyRect.height() > fullRedrawFraction * width * height;
+        }
+
+        fullRedraw = full;
+        if(full){
+            dirtyRect.set(0, 0, width, height);
+        }
+        return true;
+    }
+
+    /**
+     * @return True if the last collect asked for the whole screen to be redrawn.
+     */
+    public boolean isFullRedraw(){
+        return fullRedraw;
+    }
+
+    /**
+     * @return Area to redraw from the last collect. Pass to lockCanvas, which may grow it.
+     */
+    public Rect getDirtyRect(){
+        return dirtyRect;
+    }
+}
@@ -0,0 +1,548 @@
+package MiniSprite.Internal;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import MiniSprite.Component;
+import MiniSprite.ComponentList;
+import MiniSprite.Transform2D;
+
+/**
+ * MiniSpriteSurface will iterate and draw transforms in this collection.
+ * Draw in back -> lower sorting order
+ * Draw in front -> higher sorting order
+ * Items drawn in front will overlay those drawn in back, hence nome sorting layer. (Painters algorithm)
+ * Iterate with size() and get(index) on the frame path, they never allocate.
+ *
+ * Transforms are kept in one flat array already in draw order (sorting layer, then instantiate order).
+ * The array is only rebuilt on frames where transforms were instantiated or destroyed:
+ * destroys null out their slot in O(1) using an index map, then all holes are compacted in one pass,
+ * and instantiates are sorted among themselves and merged in, also in one pass.
+ *
+ * Threading: instantiate and destroy may be called from any thread (UI, listeners, components) without locks,
+ * they only push onto a lock free command queue. Everything else belongs to the Animator thread,
+ * which drains the queue in resolveTransformUpdates at one fixed point each frame.
+ */
+public class DrawnTransformCollection implements Iterable<Transform2D> {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private Transform2D[] transforms = new Transform2D[INITIAL_CAPACITY];
+    private int[] sortingLayers = new int[INITIAL_CAPACITY];
+    private int count;
+    private final Map<Transform2D, Integer> transformToIndex = new HashMap<>();
+
+    // Merge target when instantiating, swapped with the arrays above so rebuilds reuse memory.
+    private Transform2D[] mergeTransforms = new Transform2D[INITIAL_CAPACITY];
+    private int[] mergeSortingLayers = new int[INITIAL_CAPACITY];
+
+    // Cannot add to transform while iterating in sorted order, need to delay add/remove.
+    // Commands are applied in the order they were made.
+    private final TransformCommandQueue commandQueue = new TransformCommandQueue();
+
+    // Instantiates waiting to be merged while resolving, by transform for O(1) cancel on destroy.
+    private final ArrayList<Transform2D> pendingTransforms = new ArrayList<>();
+    private int[] pendingSortingLayers = new int[INITIAL_CAPACITY];
+    private final Map<Transform2D, Integer> pendingToIndex = new HashMap<>();
+
+    // Collision broadphase, rebuilt lazily on the first query after being invalidated.
+    private final SpatialHash spatialHash = new SpatialHash();
+    private boolean spatialHashStale = true;
+
+    // Bumped whenever transforms are instantiated or destroyed.
+    private int version;
+
+    // Transforms with components waiting for start, drained by MiniSpriteSurface once per frame.
+    private final ArrayDeque<Transform2D> startQueue = new ArrayDeque<>();
+
+    // Query indexes, rebuilt lazily on the first query after transforms or components changed.
+    private final HashMap<String, ArrayList<Transform2D>> transformsByName = new HashMap<>();
+    private int nameIndexVersion = -1;
+    private final HashMap<Class<?>, TypeIndex> transformsByComponentType = new HashMap<>();
+
+    private static final class TypeIndex {
+        final ArrayList<Transform2D> transforms = new ArrayList<>();
+        int version = -1;
+        int componentVersion;
+    }
+
+    /**
+     * Add transform for MiniSpriteSurface to draw. Instantiate -> added next draw.
+     * Instantiating a transform already in the collection moves it to the new sorting layer.
+     * @param transform Transform for MiniSpriteSurface to draw and call components of
+     * @param sortingLayer Draw in back -> lower sorting order. Draw in front -> higher sorting order
+     */
+    public void instantiateTransform(@NonNull Transform2D transform, int sortingLayer){
+        commandQueue.push(new TransformCommandQueue.Command(transform, sortingLayer, false));
+    }
+
+    /**
+     * Add many transforms at once, e.g. when spawning a wave of sprites.
+     * Cheaper than instantiating one at a time as they are sorted and merged together.
+     * @param transforms Transforms for MiniSpriteSurface to draw and call components of
+     * @param sortingLayer Draw in back -> lower sorting order. Draw in front -> higher sorting order
+     */
+    public void instantiateTransforms(@NonNull Collection<? extends Transform2D> transforms, int sortingLayer){
+        pushAll(transforms, sortingLayer, false);
+    }
+
+    /**
+     * Find and remove transform from being drawn. Destroy -> destroy next draw;
+     * @param transform Transform to try to remove.
+     */
+    public void destroyTransform(@NonNull Transform2D transform){
+        commandQueue.push(new TransformCommandQueue.Command(transform, 0, true));
+    }
+
+    /**
+     * Remove many transforms at once. All removals are compacted in a single pass.
+     * @param transforms Transforms to try to remove.
+     */
+    public void destroyTransforms(@NonNull Collection<? extends Transform2D> transforms){
+        pushAll(transforms, 0, true);
+    }
+
+    private void pushAll(Collection<? extends Transform2D> transforms, int sortingLayer, boolean destroy){
+        // Link the batch privately, then publish it with a single push.
+        TransformCommandQueue.Command first = null;
+        TransformCommandQueue.Command last = null;
+        for (Transform2D transform : transforms) {
+            TransformCommandQueue.Command command = new TransformCommandQueue.Command(transform, sortingLayer, destroy);
+            if(first == null){
+                first = command;
+            } else {
+                last.setNext(command);
+            }
+            last = command;
+        }
+
+        if(first != null){
+            commandQueue.push(first, last);
+        }
+    }
+
+    /**
+     * Find transforms colliding with transform (see Transform2D.isCollidingWith) without checking every transform.
+     * World centers are indexed on the first query of each update step, so this sees other transforms where they were at that query,
+     * transforms moved later in the same step are found at that earlier position until the next step.
+     * @param transform Transform to test against all others in the collection.
+     * @param results Cleared, then filled with colliding transforms. Reuse the list to avoid allocating.
+     */
+    public void queryOverlapping(@NonNull Transform2D transform, @NonNull List<Transform2D> results){
+        ensureSpatialHash();
+        spatialHash.queryOverlapping(transform, results);
+    }
+
+    /**
+     * Find transforms whose world center is inside a rectangle. Left/top inclusive, right/bottom exclusive.
+     * @param results Cleared, then filled with transforms in the rectangle. Reuse the list to avoid allocating.
+     */
+    public void queryRect(int left, int top, int right, int bottom, @NonNull List<Transform2D> results){
+        ensureSpatialHash();
+        spatialHash.queryRect(left, top, right, bottom, results);
+    }
+
+    /**
+     * @param cellSize Broadphase grid cell size in pixels. Best around the size of the largest colliding transform.
+     */
+    public void setSpatialHashCellSize(int cellSize){
+        spatialHash.setCellSize(cellSize);
+        spatialHashStale = true;
+    }
+
+    /**
+     * Called by MiniSpriteSurface before each update step, as transforms may have moved.
+     */
+    public void invalidateSpatialHash(){
+        spatialHashStale = true;
+    }
+
+    private void ensureSpatialHash(){
+        if(!spatialHashStale) return;
+
+        spatialHash.clear();
+        for(int i = 0; i < count; i++){
+            spatialHash.insert(transforms[i]);
+        }
+        spatialHashStale = false;
+    }
+
+    /**
+     * Find a transform by Name. Names are indexed when transforms are instantiated or destroyed,
+     * rename a transform before instantiating it.
+     * @param name Name given with withName.
+     * @return First transform in draw order with name, null if none.
+     */
+    public Transform2D findByName(@NonNull String name){
+        ArrayList<Transform2D> named = ensureNameIndex().get(name);
+        return named == null ? null : named.get(0);
+    }
+
+    /**
+     * @param name Name given with withName.
+     * @param results Cleared, then filled with transforms named name in draw order. Reuse the list to avoid allocating.
+     */
+    public void findAllByName(@NonNull String name, @NonNull List<Transform2D> results){
+        results.clear();
+        ArrayList<Transform2D> named = ensureNameIndex().get(name);
+        if(named != null){
+            results.addAll(named);
+        }
+    }
+
+    /**
+     * Find transforms with a component of type (or a subtype), see Transform2D.getComponent.
+     * Indexed per type on first query, only re-indexed after transforms are instantiated or destroyed, or components change.
+     * @param type Component type.
+     * @param results Cleared, then filled with matching transforms in draw order. Reuse the list to avoid allocating.
+     */
+    public void findAllWithComponent(@NonNull Class<? extends Component> type, @NonNull List<Transform2D> results){
+        TypeIndex index = transformsByComponentType.get(type);
+        if(index == null){
+            index = new TypeIndex();
+            transformsByComponentType.put(type, index);
+        }
+
+        int componentVersion = ComponentList.getGlobalVersion();
+        if(index.version != version || index.componentVersion != componentVersion){
+            index.transforms.clear();
+            for (int i = 0; i < count; i++) {
+                if(transforms[i].hasComponent(type)){
+                    index.transforms.add(transforms[i]);
+                }
+            }
+            index.version = version;
+            index.componentVersion = componentVersion;
+        }
+
+        results.clear();
+        results.addAll(index.transforms);
+    }
+
+    /**
+     * Transforms of a sorting layer are stored together, iterate get(index) from getLayerStart to getLayerEnd.
+     * Binary search, never allocates.
+     * @param sortingLayer Sorting layer transforms were instantiated with.
+     * @return Index of first transform in sortingLayer, or where it would be if the layer is empty.
+     */
+    public int getLayerStart(int sortingLayer){
+        return lowerBound(sortingLayer);
+    }
+
+    /**
+     * @param sortingLayer Sorting layer transforms were instantiated with.
+     * @return Index after the last transform in sortingLayer.
+     */
+    public int getLayerEnd(int sortingLayer){
+        // Layers are ints, everything in layer + 1 and beyond starts the next layer.
+        return sortingLayer == Integer.MAX_VALUE ? count : lowerBound(sortingLayer + 1);
+    }
+
+    /**
+     * @param sortingLayer Sorting layer transforms were instantiated with.
+     * @param results Cleared, then filled with transforms of sortingLayer in draw order. Reuse the list to avoid allocating.
+     */
+    public void findAllInLayer(int sortingLayer, @NonNull List<Transform2D> results){
+        results.clear();
+        int end = getLayerEnd(sortingLayer);
+        for (int i = getLayerStart(sortingLayer); i < end; i++) {
+            results.add(transforms[i]);
+        }
+    }
+
+    private int lowerBound(int sortingLayer){
+        int low = 0;
+        int high = count;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(sortingLayers[middle] < sortingLayer){
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private HashMap<String, ArrayList<Transform2D>> ensureNameIndex(){
+        if(nameIndexVersion == version) return transformsByName;
+
+        transformsByName.clear();
+        for (int i = 0; i < count; i++) {
+            Transform2D transform = transforms[i];
+            if(transform.Name == null) continue;
+
+            ArrayList<Transform2D> named = transformsByName.get(transform.Name);
+            if(named == null){
+                named = new ArrayList<>(1);
+                transformsByName.put(transform.Name, named);
+            }
+            named.add(transform);
+        }
+        nameIndexVersion = version;
+        return transformsByName;
+    }
+
+    /**
+     * Apply queued instantiates and destroys. Called by MiniSpriteSurface once per frame, before start,
+     * so the draw order never changes while it is being iterated.
+     */
+    public void resolveTransformUpdates(){
+        TransformCommandQueue.Command command = commandQueue.poll();
+        if(command == null) return;
+
+        boolean removed = false;
+        do {
+            Transform2D transform = command.transform;
+            // Polled command stays referenced by the queue until the next poll, drop the transform now.
+            command.transform = null;
+
+            // Either command replaces whatever happened to the transform earlier.
+            boolean wasLive = removeTransform(transform);
+            boolean wasPending = cancelPending(transform);
+            removed |= wasLive;
+
+            if(!command.destroy){
+                addPending(transform, command.sortingLayer);
+            } else if(wasLive || wasPending){
+                transform.onDestroy();
+            }
+
+            command = commandQueue.poll();
+        } while(command != null);
+
+        if(!pendingTransforms.isEmpty()){
+            for (int i = 0; i < pendingTransforms.size(); i++) {
+                Transform2D transform = pendingTransforms.get(i);
+                if(transform != null){
+                    transform.onInstantiate(this);
+                }
+            }
+            mergePending();
+        } else if(removed){
+            compact();
+        }
+
+        spatialHashStale = true;
+        version++;
+    }
+
+    /**
+     * Queue a transform to start. Called by Transform2D when instantiated or given new components. Animator thread only.
+     */
+    public void queueStart(@NonNull Transform2D transform){
+        startQueue.add(transform);
+    }
+
+    /**
+     * Called by MiniSpriteSurface after resolveTransformUpdates until it returns null.
+     * @return Next transform to start, null once all are started.
+     */
+    public Transform2D pollStart(){
+        return startQueue.poll();
+    }
+
+    private boolean removeTransform(Transform2D transform){
+        Integer index = transformToIndex.remove(transform);
+        if(index == null) return false;
+
+        transforms[index] = null;
+        return true;
+    }
+
+    private boolean cancelPending(Transform2D transform){
+        Integer index = pendingToIndex.remove(transform);
+        if(index == null) return false;
+
+        pendingTransforms.set(index, null);
+        return true;
+    }
+
+    private void addPending(Transform2D transform, int sortingLayer){
+        int index = pendingTransforms.size();
+        if(index == pendingSortingLayers.length){
+            pendingSortingLayers = Arrays.copyOf(pendingSortingLayers, index * 2);
+        }
+
+        pendingTransforms.add(transform);
+        pendingSortingLayers[index] = sortingLayer;
+        pendingToIndex.put(transform, index);
+    }
+
+    /**
+     * Close holes left by destroyed transforms, shifting later transforms down.
+     */
+    private void compact(){
+        int write = 0;
+        for (int read = 0; read < count; read++) {
+            Transform2D transform = transforms[read];
+            if(transform == null) continue;
+
+            if(write != read){
+                transforms[write] = transform;
+                sortingLayers[write] = sortingLayers[read];
+                transformToIndex.put(transform, write);
+            }
+            write++;
+        }
+
+        Arrays.fill(transforms, write, count, null);
+        count = write;
+    }
+
+    /**
+     * Stable sort pending instantiates by sorting layer, then merge them after existing transforms of the same layer.
+     */
+    private void mergePending(){
+        // Insertion sort, pending transforms are usually few or already grouped by layer (bulk instantiate).
+        int pendingCount = 0;
+        for (int i = 0; i < pendingTransforms.size(); i++) {
+            Transform2D transform = pendingTransforms.get(i);
+            if(transform == null) continue;
+
+            int sortingLayer = pendingSortingLayers[i];
+            int j = pendingCount - 1;
+            while(j >= 0 && pendingSortingLayers[j] > sortingLayer){
+                pendingTransforms.set(j + 1, pendingTransforms.get(j));
+                pendingSortingLayers[j + 1] = pendingSortingLayers[j];
+                j--;
+            }
+            pendingTransforms.set(j + 1, transform);
+            pendingSortingLayers[j + 1] = sortingLayer;
+            pendingCount++;
+        }
+
+        int capacity = count + pendingCount;
+        if(mergeTransforms.length < capacity){
+            int newCapacity = Math.max(capacity, mergeTransforms.length * 2);
+            mergeTransforms = new Transform2D[newCapacity];
+            mergeSortingLayers = new int[newCapacity];
+        }
+
+        int write = 0;
+        int read = 0;
+        int pending = 0;
+        while(read < count || pending < pendingCount){
+            if(read < count && transforms[read] == null){
+                read++;
+                continue;
+            }
+
+            boolean takeExisting = pending >= pendingCount ||
+                    (read < count && sortingLayers[read] <= pendingSortingLayers[pending]);
+
+            Transform2D transform;
+            if(takeExisting){
+                transform = transforms[read];
+                mergeSortingLayers[write] = sortingLayers[read];
+                read++;
+            } else {
+                transform = pendingTransforms.get(pending);
+                mergeSortingLayers[write] = pendingSortingLayers[pending];
+                pending++;
+            }
+
+            mergeTransforms[write] = transform;
+            transformToIndex.put(transform, write);
+            write++;
+        }
+
+        // Swap buffers, clearing the old one so it holds no references to destroyed transforms.
+        Transform2D[] oldTransforms = transforms;
+        int[] oldSortingLayers = sortingLayers;
+        Arrays.fill(oldTransforms, 0, count, null);
+
+        transforms = mergeTransforms;
+        sortingLayers = mergeSortingLayers;
+        mergeTransforms = oldTransforms;
+        mergeSortingLayers = oldSortingLayers;
+        count = write;
+
+        pendingTransforms.clear();
+        pendingToIndex.clear();
+    }
+
+    /**
+     * @return Number of transforms being drawn, excluding any still queued for instantiate.
+     */
+    public int size(){
+        return count;
+    }
+
+    /**
+     * @return Changes whenever transforms are instantiated or destroyed, to cheaply tell if anything built from the collection is stale.
+     */
+    public int getVersion(){
+        return version;
+    }
+
+    /**
+     * @param index Position in draw order, 0 is drawn first (furthest back).
+     * @return Transform at index.
+     */
+    public Transform2D get(int index){
+        if(index < 0 || index >= count) throw new IndexOutOfBoundsException("Index " + index + " out of " + count);
+        return transforms[index];
+    }
+
+    /**
+     * @param transform Transform to look for.
+     * @return True if transform is being drawn. Transforms still queued for instantiate are not included.
+     */
+    public boolean contains(@NonNull Transform2D transform){
+        return transformToIndex.containsKey(transform);
+    }
+
+    /**
+     * @param index Position in draw order.
+     * @return Sorting layer of transform at index.
+     */
+    public int getSortingLayerAt(int index){
+        if(index < 0 || index >= count) throw new IndexOutOfBoundsException("Index " + index + " out of " + count);
+        return sortingLayers[index];
+    }
+
+    /**
+     * @param transform Transform in this collection.
+     * @return Sorting layer transform is drawn in.
+     */
+    public int getSortingLayer(@NonNull Transform2D transform){
+        Integer index = transformToIndex.get(transform);
+        if(index == null) throw new IllegalArgumentException("Transform " + transform.Name + " is not in collection");
+        return sortingLayers[index];
+    }
+
+    /**
+     * Allocates an iterator, prefer size() and get(index) in code that runs every frame.
+     */
+    @NonNull
+    @Override
+    public Iterator<Transform2D> iterator() {
+        return new Iterator<Transform2D>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < count;
+            }
+
+            @Override
+            public Transform2D next() {
+                // Throw error if nothing to iterate.
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return transforms[index++];
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package MiniSprite.Internal;
+
+/**
+ * The one clock every part of a MiniSpriteSurface reads time from.
+ * Animator begins each frame, MiniSpriteSurface then consumes fixed simulation steps from it.
+ * Components read it with miniSpriteSurface.getFrameClock() instead of System.currentTimeMillis().
+ *
+ * Simulation always advances in fixed steps (getDeltaSeconds), so motion is the same regardless of frame rate.
+ * If a frame takes too long, at most maxCatchUpSteps are run and the rest of the time is dropped.
+ */
+public class FrameClock {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final int DEFAULT_FIXED_UPDATE_RATE = 60;
+    private static final int DEFAULT_MAX_CATCH_UP_STEPS = 4;
+
+    private volatile long fixedStepNanos = NANOS_PER_SECOND / DEFAULT_FIXED_UPDATE_RATE;
+    private volatile int maxCatchUpSteps = DEFAULT_MAX_CATCH_UP_STEPS;
+
+    private long lastFrameNanos = -1;
+    private long accumulatorNanos;
+    private long frameDeltaNanos;
+    private long simulationTimeNanos;
+    private long frameIndex;
+    private long stepIndex;
+    private int pendingSteps;
+    private float interpolationAlpha;
+
+    /**
+     * Called by Animator once before each frame is drawn.
+     * Works out how many fixed steps the frame has to simulate.
+     * @param nowNanos Frame time on the System.nanoTime() timebase, e.g. Choreographer's vsync time.
+     */
+    public void beginFrame(long nowNanos){
+        long stepNanos = fixedStepNanos;
+
+        if(lastFrameNanos < 0){
+            // First frame simulates exactly one step so start and update both run before the first draw.
+            frameDeltaNanos = stepNanos;
+            accumulatorNanos = stepNanos;
+        } else {
+            frameDeltaNanos = nowNanos - lastFrameNanos;
+            accumulatorNanos += frameDeltaNanos;
+        }
+        lastFrameNanos = nowNanos;
+
+        long steps = accumulatorNanos / stepNanos;
+        accumulatorNanos -= steps * stepNanos;
+
+        int maxSteps = maxCatchUpSteps;
+        if(steps > maxSteps){
+            // Too far behind, drop the time instead of spiralling into ever longer frames.
+            steps = maxSteps;
+        }
+
+        pendingSteps = (int) steps;
+        interpolationAlpha = (float) accumulatorNanos / stepNanos;
+        frameIndex++;
+    }
+
+    /**
+     * Called by MiniSpriteSurface to run simulation steps owed this frame.
+     * @return True if another fixed update step should run, false once the frame is caught up.
+     */
+    public boolean consumeStep(){
+        if(pendingSteps <= 0) return false;
+
+        pendingSteps--;
+        stepIndex++;
+        simulationTimeNanos += fixedStepNanos;
+        return true;
+    }
+
+    /**
+     * @param updatesPerSecond Number of fixed simulation steps per second. Components see 1 / updatesPerSecond as delta.
+     */
+    public void setFixedUpdateRate(int updatesPerSecond){
+        if(updatesPerSecond <= 0) throw new IllegalArgumentException("Fixed update rate must be positive");
+        fixedStepNanos = NANOS_PER_SECOND / updatesPerSecond;
+    }
+
+    /**
+     * @param maxCatchUpSteps Most fixed steps simulated in one frame after a slow frame. Time beyond that is dropped.
+     */
+    public void setMaxCatchUpSteps(int maxCatchUpSteps){
+        if(maxCatchUpSteps <= 0) throw new IllegalArgumentException("Max catch up steps must be positive");
+        this.maxCatchUpSteps = maxCatchUpSteps;
+    }
+
+    /**
+     * @return Seconds simulated by one update call. Use this to move things in Component.update.
+     */
+    public float getDeltaSeconds() { return (float) fixedStepNanos / NANOS_PER_SECOND; }
+
+    /**
+     * @return Real seconds between the start of the previous frame and this one.
+     */
+    public float getFrameDeltaSeconds() { return (float) frameDeltaNanos / NANOS_PER_SECOND; }
+
+    /**
+     * @return How far (0 to 1) the drawn frame is between the last simulated step and the next one.
+     */
+    public float getInterpolationAlpha() { return interpolationAlpha; }
+
+    /**
+     * @return Number of frames begun so far.
+     */
+    public long getFrameIndex() { return frameIndex; }
+
+    /**
+     * @return Number of fixed update steps simulated so far.
+     */
+    public long getStepIndex() { return stepIndex; }
+
+    /**
+     * @return Simulated time in milliseconds. Advances by exactly one step per update.
+     */
+    public long getTimeMillis() { return simulationTimeNanos / NANOS_PER_MILLI; }
+
+    /**
+     * @return Simulated time in seconds. Advances by exactly one step per update.
+     */
+    public double getTimeSeconds() { return (double) simulationTimeNanos / NANOS_PER_SECOND; }
+}
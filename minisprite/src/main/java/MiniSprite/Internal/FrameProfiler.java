@@ -0,0 +1,207 @@
+package MiniSprite.Internal;
+
+import android.os.Trace;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times each phase of a frame and each component class, into rolling histograms the app can query (p50/p95/p99).
+ * Optionally also emits platform trace sections (systrace/Perfetto) and keeps recent phase events
+ * to export as a Chrome trace file.
+ *
+ * Disabled by default. Disabled, every call returns after reading one volatile flag.
+ * MiniSpriteSurface owns one, see MiniSpriteSurface.getProfiler.
+ */
+public final class FrameProfiler {
+    public static final int LOCK_CANVAS = 0;
+    public static final int PRE_UPDATE = 1;
+    public static final int START = 2;
+    public static final int UPDATE = 3;
+    public static final int PRE_DRAW = 4;
+    public static final int DRAW = 5;
+    public static final int POST_DRAW = 6;
+    public static final int UNLOCK_AND_POST = 7;
+    // Whole draw call of the Animate thread, and whole snapshot draw of the render thread when pipelined.
+    public static final int FRAME = 8;
+    public static final int RENDER = 9;
+    public static final int PHASE_COUNT = 10;
+
+    private static final String[] PHASE_NAMES = {
+            "MiniSprite lockCanvas", "MiniSprite onPreUpdate", "MiniSprite start", "MiniSprite update",
+            "MiniSprite onPreDrawSprites", "MiniSprite draw", "MiniSprite onPostDrawSprites",
+            "MiniSprite unlockCanvasAndPost", "MiniSprite frame", "MiniSprite render"
+    };
+    private static final int TRACE_CAPACITY = 8192;
+    // Lowest bit of the start time begin returns, set if begin opened a trace section for end to close.
+    private static final long SECTION_OPENED = 1L;
+
+    private static final class ComponentTiming {
+        final LongAdder frameNanos = new LongAdder();
+        final RollingHistogram histogram = new RollingHistogram();
+    }
+
+    private volatile boolean enabled;
+    private volatile boolean traceSections;
+    private volatile boolean traceRecording;
+
+    private final RollingHistogram[] phaseHistograms = new RollingHistogram[PHASE_COUNT];
+    private final RollingHistogram drawnHistogram = new RollingHistogram();
+    private final RollingHistogram culledHistogram = new RollingHistogram();
+    private final ConcurrentHashMap<Class<?>, ComponentTiming> componentTimings = new ConcurrentHashMap<>();
+
+    // Recent phase events for trace export, guarded by this.
+    private final int[] tracePhases = new int[TRACE_CAPACITY];
+    private final long[] traceThreads = new long[TRACE_CAPACITY];
+    private final long[] traceStarts = new long[TRACE_CAPACITY];
+    private final long[] traceDurations = new long[TRACE_CAPACITY];
+    private int traceNext;
+    private int traceCount;
+
+    public FrameProfiler(){
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            phaseHistograms[i] = new RollingHistogram();
+        }
+    }
+
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public boolean isEnabled() { return enabled; }
+
+    /**
+     * @param traceSections True to also wrap phases in android.os.Trace sections, visible in systrace and Perfetto.
+     */
+    public void setTraceSections(boolean traceSections) { this.traceSections = traceSections; }
+
+    /**
+     * @param traceRecording True to keep the most recent phase events for exportTrace.
+     */
+    public void setTraceRecording(boolean traceRecording) { this.traceRecording = traceRecording; }
+
+    /**
+     * @param phase Phase constant, e.g. FrameProfiler.UPDATE.
+     * @return Start time to pass to end, 0 if disabled. Also carries whether a trace section was opened,
+     * so end closes exactly what begin opened even if setTraceSections is toggled in between.
+     */
+    public long begin(int phase){
+        if(!enabled) return 0;
+
+        if(traceSections){
+            Trace.beginSection(PHASE_NAMES[phase]);
+            return System.nanoTime() | SECTION_OPENED;
+        }
+        return System.nanoTime() & ~SECTION_OPENED;
+    }
+
+    /**
+     * @param phase Same phase passed to begin.
+     * @param startNanos Value begin returned.
+     */
+    public void end(int phase, long startNanos){
+        // Enabled after begin, nothing to pair with.
+        if(startNanos == 0) return;
+
+        long endNanos = System.nanoTime();
+        if((startNanos & SECTION_OPENED) != 0){
+            Trace.endSection();
+        }
+
+        phaseHistograms[phase].record(endNanos - startNanos);
+        if(traceRecording){
+            recordTraceEvent(phase, startNanos, endNanos - startNanos);
+        }
+    }
+
+    /**
+     * Add time spent in one component (or system) update, summed per class over the frame.
+     */
+    public void recordComponent(Class<?> type, long nanos){
+        ComponentTiming timing = componentTimings.get(type);
+        if(timing == null){
+            ComponentTiming created = new ComponentTiming();
+            timing = componentTimings.putIfAbsent(type, created);
+            if(timing == null){
+                timing = created;
+            }
+        }
+        timing.frameNanos.add(nanos);
+    }
+
+    /**
+     * Close the frame: record per class component totals and draw counts.
+     */
+    public void endFrame(int drawnCount, int culledCount){
+        if(!enabled) return;
+
+        drawnHistogram.record(drawnCount);
+        culledHistogram.record(culledCount);
+        for (ComponentTiming timing : componentTimings.values()) {
+            timing.histogram.record(timing.frameNanos.sumThenReset());
+        }
+    }
+
+    /**
+     * @param phase Phase constant, e.g. FrameProfiler.UPDATE.
+     * @return Durations of phase in nanoseconds.
+     */
+    public RollingHistogram getPhaseHistogram(int phase){
+        return phaseHistograms[phase];
+    }
+
+    /**
+     * @return Transforms drawn per frame.
+     */
+    public RollingHistogram getDrawnHistogram() { return drawnHistogram; }
+
+    /**
+     * @return Transforms culled per frame.
+     */
+    public RollingHistogram getCulledHistogram() { return culledHistogram; }
+
+    /**
+     * @return Nanoseconds per frame spent updating each component class, by class name. Allocates, do not call every frame.
+     */
+    public Map<String, RollingHistogram> getComponentHistograms(){
+        TreeMap<String, RollingHistogram> histograms = new TreeMap<>();
+        for (Map.Entry<Class<?>, ComponentTiming> entry : componentTimings.entrySet()) {
+            histograms.put(entry.getKey().getName(), entry.getValue().histogram);
+        }
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    public static String getPhaseName(int phase){
+        return PHASE_NAMES[phase];
+    }
+
+    private synchronized void recordTraceEvent(int phase, long startNanos, long durationNanos){
+        tracePhases[traceNext] = phase;
+        traceThreads[traceNext] = Thread.currentThread().getId();
+        traceStarts[traceNext] = startNanos;
+        traceDurations[traceNext] = durationNanos;
+        traceNext = (traceNext + 1) % TRACE_CAPACITY;
+        traceCount = Math.min(traceCount + 1, TRACE_CAPACITY);
+    }
+
+    /**
+     * Write recorded phase events in Chrome trace event format, open with Perfetto UI or chrome://tracing.
+     * @param writer Destination, e.g. a FileWriter. Not closed.
+     */
+    public synchronized void exportTrace(Writer writer) throws IOException {
+        writer.write("{\"traceEvents\":[");
+        int first = (traceNext - traceCount + TRACE_CAPACITY) % TRACE_CAPACITY;
+        for (int i = 0; i < traceCount; i++) {
+            int index = (first + i) % TRACE_CAPACITY;
+            if(i > 0) writer.write(',');
+            writer.write("{\"name\":\"" + PHASE_NAMES[tracePhases[index]] +
+                    "\",\"ph\":\"X\",\"pid\":0,\"tid\":" + traceThreads[index] +
+                    ",\"ts\":" + traceStarts[index] / 1000.0 +
+                    ",\"dur\":" + traceDurations[index] / 1000.0 + "}");
+        }
+        writer.write("]}");
+        writer.flush();
+    }
+}
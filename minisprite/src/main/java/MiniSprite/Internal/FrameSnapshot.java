@@ -0,0 +1,64 @@
+package MiniSprite.Internal;
+
+import java.util.Arrays;
+
+import MiniSprite.Transform2D;
+
+/**
+ * Snapshots of every visible transform for one frame, in draw order.
+ * Transforms outside the viewport are culled here, before anything is copied.
+ * Entries are reused frame to frame, capturing allocates only when the transform count grows.
+ */
+public final class FrameSnapshot {
+    private TransformSnapshot[] transforms = new TransformSnapshot[0];
+    private int count;
+    private int culledCount;
+
+    /**
+     * Copy draw state of every transform inside the viewport. Called on the simulation thread.
+     * @param allTransforms Transforms to capture, in draw order.
+     * @param cull False to capture every transform regardless of the viewport.
+     */
+    public void capture(DrawnTransformCollection allTransforms, boolean cull, float left, float top, float right, float bottom){
+        int previousCount = count;
+        int transformCount = allTransforms.size();
+
+        if(transforms.length < transformCount){
+            int oldLength = transforms.length;
+            transforms = Arrays.copyOf(transforms, Math.max(transformCount, oldLength * 2));
+            for (int i = oldLength; i < transforms.length; i++) {
+                transforms[i] = new TransformSnapshot();
+            }
+        }
+
+        count = 0;
+        for (int i = 0; i < transformCount; i++) {
+            Transform2D transform = allTransforms.get(i);
+            if(cull && transform.isOutsideRect(left, top, right, bottom)) continue;
+
+            TransformSnapshot snapshot = transforms[count++];
+            transform.writeSnapshot(snapshot);
+            snapshot.SortingLayer = allTransforms.getSortingLayerAt(i);
+        }
+        culledCount = transformCount - count;
+
+        for (int i = count; i < previousCount; i++) {
+            transforms[i].clear();
+        }
+    }
+
+    /**
+     * @return Transforms skipped by the last capture as they were outside the viewport.
+     */
+    public int getCulledCount(){
+        return culledCount;
+    }
+
+    public int size(){
+        return count;
+    }
+
+    public TransformSnapshot get(int index){
+        return transforms[index];
+    }
+}
@@ -0,0 +1,10 @@
+package MiniSprite.Internal;
+
+public interface IDrawable {
+    /**
+     * @return False while there is nothing to draw on, e.g. before the surface is created. Animator begins no frame then.
+     */
+    boolean canDraw();
+
+    void draw();
+}
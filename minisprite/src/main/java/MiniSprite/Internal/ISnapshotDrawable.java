@@ -0,0 +1,5 @@
+package MiniSprite.Internal;
+
+public interface ISnapshotDrawable {
+    void drawSnapshot(FrameSnapshot frameSnapshot);
+}
@@ -0,0 +1,213 @@
+package MiniSprite.Internal;
+
+import android.util.Log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Level gated logging that is safe to call every frame from any thread.
+ * Disabled levels return after one comparison. Enabled records are not formatted on the calling thread:
+ * the template, an optional object and up to four longs go into a preallocated ring buffer,
+ * and a background thread formats them and writes them to logcat.
+ *
+ * Templates use {} placeholders, filled by the object first and then the numbers, in order.
+ * Pass string literals as templates so recording a message allocates nothing.
+ * If the ring is full the record is dropped rather than blocking the caller; drops are reported in the log.
+ */
+public final class MiniLog {
+    public static final int VERBOSE = Log.VERBOSE;
+    public static final int DEBUG = Log.DEBUG;
+    public static final int INFO = Log.INFO;
+    public static final int WARN = Log.WARN;
+    public static final int ERROR = Log.ERROR;
+    public static final int NONE = Integer.MAX_VALUE;
+
+    /**
+     * Lowest level that can ever be logged. Raise to strip lower levels out entirely,
+     * the comparison against a constant lets the compiler drop the call.
+     */
+    public static final int COMPILE_TIME_LEVEL = VERBOSE;
+
+    private static final String THREAD_NAME = PackageUtilities.PACKAGE_NAME + ".Log";
+    private static final long DRAIN_INTERVAL_NANOS = 5_000_000L;
+    private static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+    private static final int MAX_ARGS = 4;
+
+    private static volatile int runtimeLevel = INFO;
+
+    // Ring buffer, one slot per record. A slot is readable once published holds its sequence + 1.
+    private static final AtomicLong claimedSequence = new AtomicLong();
+    private static final AtomicLongArray published = new AtomicLongArray(CAPACITY);
+    private static final int[] levels = new int[CAPACITY];
+    private static final String[] tags = new String[CAPACITY];
+    private static final String[] templates = new String[CAPACITY];
+    private static final Object[] objects = new Object[CAPACITY];
+    private static final long[] args = new long[CAPACITY * MAX_ARGS];
+    private static final int[] argCounts = new int[CAPACITY];
+
+    private static final AtomicLong droppedCount = new AtomicLong();
+    private static volatile long drainedSequence;
+    private static volatile boolean drainThreadStarted;
+
+    private MiniLog() {}
+
+    /**
+     * @param level Lowest level logged from now on, e.g. MiniLog.VERBOSE to see per frame logs. MiniLog.NONE disables logging.
+     */
+    public static void setLevel(int level){
+        runtimeLevel = level;
+    }
+
+    /**
+     * Check before doing any work to build log arguments, e.g. looking up a resource name.
+     * @param level Level the message would be logged at.
+     * @return True if a message at level would be recorded.
+     */
+    public static boolean isLoggable(int level){
+        return level >= COMPILE_TIME_LEVEL && level >= runtimeLevel;
+    }
+
+    public static void log(int level, String tag, String template){
+        if(!isLoggable(level)) return;
+        record(level, tag, template, null, 0, 0, 0, 0, 0);
+    }
+
+    public static void log(int level, String tag, String template, long a){
+        if(!isLoggable(level)) return;
+        record(level, tag, template, null, 1, a, 0, 0, 0);
+    }
+
+    public static void log(int level, String tag, String template, long a, long b){
+        if(!isLoggable(level)) return;
+        record(level, tag, template, null, 2, a, b, 0, 0);
+    }
+
+    public static void log(int level, String tag, String template, long a, long b, long c, long d){
+        if(!isLoggable(level)) return;
+        record(level, tag, template, null, 4, a, b, c, d);
+    }
+
+    public static void log(int level, String tag, String template, Object object){
+        if(!isLoggable(level)) return;
+        record(level, tag, template, object, 0, 0, 0, 0, 0);
+    }
+
+    public static void log(int level, String tag, String template, Object object, long a, long b){
+        if(!isLoggable(level)) return;
+        record(level, tag, template, object, 2, a, b, 0, 0);
+    }
+
+    private static void record(int level, String tag, String template, Object object, int argCount, long a, long b, long c, long d){
+        ensureDrainThread();
+
+        long sequence;
+        do {
+            sequence = claimedSequence.get();
+            if(sequence - drainedSequence >= CAPACITY){
+                droppedCount.incrementAndGet();
+                return;
+            }
+        } while(!claimedSequence.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int)(sequence & MASK);
+        levels[slot] = level;
+        tags[slot] = tag;
+        templates[slot] = template;
+        objects[slot] = object;
+        argCounts[slot] = argCount;
+        int argOffset = slot * MAX_ARGS;
+        args[argOffset] = a;
+        args[argOffset + 1] = b;
+        args[argOffset + 2] = c;
+        args[argOffset + 3] = d;
+
+        // Release the slot to the drain thread only after every field is written.
+        published.lazySet(slot, sequence + 1);
+    }
+
+    private static void ensureDrainThread(){
+        if(drainThreadStarted) return;
+
+        synchronized (MiniLog.class){
+            if(drainThreadStarted) return;
+
+            Thread drainThread = new Thread(MiniLog::drainLoop, THREAD_NAME);
+            drainThread.setDaemon(true);
+            drainThread.setPriority(Thread.MIN_PRIORITY);
+            drainThread.start();
+            drainThreadStarted = true;
+        }
+    }
+
+    private static void drainLoop(){
+        StringBuilder builder = new StringBuilder();
+        long reportedDropped = 0;
+
+        while(true){
+            boolean drained = drain(builder);
+
+            long dropped = droppedCount.get();
+            if(dropped != reportedDropped){
+                Log.println(WARN, PackageUtilities.LOG_TAG, "Log ring buffer full, dropped " + (dropped - reportedDropped) + " records");
+                reportedDropped = dropped;
+            }
+
+            if(!drained){
+                LockSupport.parkNanos(DRAIN_INTERVAL_NANOS);
+            }
+        }
+    }
+
+    private static boolean drain(StringBuilder builder){
+        boolean drainedAny = false;
+        long sequence = drainedSequence;
+
+        while(true){
+            int slot = (int)(sequence & MASK);
+            if(published.get(slot) != sequence + 1) break;
+
+            builder.setLength(0);
+            format(builder, slot);
+            Log.println(levels[slot], tags[slot], builder.toString());
+
+            objects[slot] = null;
+            sequence++;
+            drainedSequence = sequence;
+            drainedAny = true;
+        }
+
+        return drainedAny;
+    }
+
+    private static void format(StringBuilder builder, int slot){
+        String template = templates[slot];
+        Object object = objects[slot];
+        int argCount = argCounts[slot];
+        int argOffset = slot * MAX_ARGS;
+
+        boolean objectUsed = object == null;
+        int argIndex = 0;
+        int start = 0;
+        int placeholder;
+
+        while((placeholder = template.indexOf("{}", start)) >= 0){
+            builder.append(template, start, placeholder);
+
+            if(!objectUsed){
+                builder.append(object);
+                objectUsed = true;
+            } else if(argIndex < argCount){
+                builder.append(args[argOffset + argIndex++]);
+            } else {
+                builder.append("{}");
+            }
+
+            start = placeholder + 2;
+        }
+
+        builder.append(template, start, template.length());
+    }
+}
@@ -0,0 +1,129 @@
+package MiniSprite.Internal;
+
+import android.graphics.Canvas;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+
+import MiniSprite.MiniSpriteSurface;
+
+/**
+ * Updates parallel safe components (see Component.isParallelSafe) of all transforms on a work stealing pool.
+ * The transform list is split into contiguous chunks, more chunks than threads so idle threads can steal.
+ * update returns once every chunk is done, so it doubles as the barrier before the serial update and drawing.
+ *
+ * Tasks are allocated once and reinitialized every step, so a steady frame allocates nothing.
+ * Only the Animate thread calls update.
+ */
+public final class ParallelUpdater {
+    private static final String THREAD_NAME = PackageUtilities.PACKAGE_NAME + ".Update";
+    private static final int CHUNKS_PER_THREAD = 4;
+    // Fewer transforms than this per chunk and handing off costs more than it saves.
+    private static final int MIN_CHUNK_SIZE = 32;
+
+    private final ForkJoinPool pool;
+    private final ChunkTask[] chunkTasks;
+    private final RootTask rootTask = new RootTask();
+    private int activeChunkCount;
+
+    // Only set while update runs.
+    private DrawnTransformCollection transforms;
+    private Canvas canvas;
+    private MiniSpriteSurface miniSpriteSurface;
+
+    private final class ChunkTask extends RecursiveAction {
+        int start;
+        int end;
+
+        @Override
+        protected void compute() {
+            for (int i = start; i < end; i++) {
+                transforms.get(i).updateComponents(canvas, miniSpriteSurface, true);
+            }
+        }
+    }
+
+    private final class RootTask extends RecursiveAction {
+        @Override
+        protected void compute() {
+            // Fork all but the first chunk, run the first here, then join the rest, newest first.
+            for (int i = 1; i < activeChunkCount; i++) {
+                chunkTasks[i].fork();
+            }
+            chunkTasks[0].compute();
+            for (int i = activeChunkCount - 1; i >= 1; i--) {
+                chunkTasks[i].join();
+            }
+        }
+    }
+
+    /**
+     * @param parallelism Number of worker threads.
+     */
+    public ParallelUpdater(int parallelism){
+        pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName(THREAD_NAME);
+            return thread;
+        }, null, false);
+
+        chunkTasks = new ChunkTask[parallelism * CHUNKS_PER_THREAD];
+        for (int i = 0; i < chunkTasks.length; i++) {
+            chunkTasks[i] = new ChunkTask();
+        }
+    }
+
+    /**
+     * Update every parallel safe component and wait for all of them to finish.
+     * Exceptions thrown by components are rethrown here.
+     */
+    public void update(DrawnTransformCollection transforms, Canvas canvas, MiniSpriteSurface miniSpriteSurface){
+        int count = transforms.size();
+        int chunkCount = Math.min(chunkTasks.length, count / MIN_CHUNK_SIZE);
+
+        if(chunkCount <= 1 || pool.isShutdown()){
+            updateSerially(transforms, canvas, miniSpriteSurface);
+            return;
+        }
+
+        this.transforms = transforms;
+        this.canvas = canvas;
+        this.miniSpriteSurface = miniSpriteSurface;
+
+        int chunkSize = (count + chunkCount - 1) / chunkCount;
+        activeChunkCount = 0;
+        for (int start = 0; start < count; start += chunkSize) {
+            ChunkTask task = chunkTasks[activeChunkCount++];
+            task.reinitialize();
+            task.start = start;
+            task.end = Math.min(count, start + chunkSize);
+        }
+
+        try {
+            rootTask.reinitialize();
+            pool.invoke(rootTask);
+        } catch (RejectedExecutionException e) {
+            // Shut down between the check above and invoke, nothing ran yet.
+            updateSerially(transforms, canvas, miniSpriteSurface);
+        } finally {
+            this.transforms = null;
+            this.canvas = null;
+            this.miniSpriteSurface = null;
+        }
+    }
+
+    /**
+     * Let worker threads exit once idle. Later updates run on the calling thread.
+     */
+    public void shutdown(){
+        pool.shutdown();
+    }
+
+    private static void updateSerially(DrawnTransformCollection transforms, Canvas canvas, MiniSpriteSurface miniSpriteSurface){
+        for (int i = 0; i < transforms.size(); i++) {
+            transforms.get(i).updateComponents(canvas, miniSpriteSurface, true);
+        }
+    }
+}
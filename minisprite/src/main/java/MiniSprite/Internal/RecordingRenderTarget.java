@@ -0,0 +1,139 @@
+package MiniSprite.Internal;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import java.util.Arrays;
+
+/**
+ * Headless RenderTarget: draws nothing, records every draw call with its destination in screen space.
+ * Needs no Canvas, so scenes, components and collision can run and be measured on a plain JVM.
+ * Call clear before each frame. Recording allocates only when a frame has more calls than any before.
+ */
+public final class RecordingRenderTarget implements RenderTarget {
+    public static final int DRAW_BITMAP = 0;
+    public static final int DRAW_TEXT = 1;
+    public static final int DRAW_MESH = 2;
+
+    private static final int MAX_SAVE_DEPTH = 64;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int width;
+    private final int height;
+
+    // Current matrix, plus a stack of saved ones.
+    private final float[] matrix = new float[Affine2D.SIZE];
+    private final float[] matrixStack = new float[Affine2D.SIZE * MAX_SAVE_DEPTH];
+    private final float[] concatScratch = new float[Affine2D.SIZE];
+    private int saveDepth;
+
+    private int count;
+    private int[] operations = new int[INITIAL_CAPACITY];
+    // Screen space center of each draw call.
+    private float[] centers = new float[INITIAL_CAPACITY * 2];
+    private Object[] subjects = new Object[INITIAL_CAPACITY];
+
+    public RecordingRenderTarget(int width, int height){
+        this.width = width;
+        this.height = height;
+        Affine2D.setRotateTranslate(matrix, 0, 0, 0);
+    }
+
+    /**
+     * Forget recorded calls and reset the matrix.
+     */
+    public void clear(){
+        Arrays.fill(subjects, 0, count, null);
+        count = 0;
+        saveDepth = 0;
+        Affine2D.setRotateTranslate(matrix, 0, 0, 0);
+    }
+
+    public int getCallCount() { return count; }
+
+    /**
+     * @return DRAW_BITMAP, DRAW_TEXT or DRAW_MESH.
+     */
+    public int getOperation(int index) { return operations[index]; }
+
+    public float getCenterX(int index) { return centers[index * 2]; }
+    public float getCenterY(int index) { return centers[index * 2 + 1]; }
+
+    /**
+     * @return Bitmap or text drawn.
+     */
+    public Object getSubject(int index) { return subjects[index]; }
+
+    @Override
+    public int getWidth() { return width; }
+
+    @Override
+    public int getHeight() { return height; }
+
+    @Override
+    public Canvas getCanvas() { return null; }
+
+    @Override
+    public void save() {
+        if(saveDepth == MAX_SAVE_DEPTH) throw new IllegalStateException("Save depth over " + MAX_SAVE_DEPTH);
+        System.arraycopy(matrix, 0, matrixStack, saveDepth * Affine2D.SIZE, Affine2D.SIZE);
+        saveDepth++;
+    }
+
+    @Override
+    public void restore() {
+        if(saveDepth == 0) throw new IllegalStateException("Restore without save");
+        saveDepth--;
+        System.arraycopy(matrixStack, saveDepth * Affine2D.SIZE, matrix, 0, Affine2D.SIZE);
+    }
+
+    @Override
+    public void concat(float[] affine) {
+        Affine2D.concat(concatScratch, matrix, affine);
+        Affine2D.set(matrix, concatScratch);
+    }
+
+    @Override
+    public void drawBitmap(Bitmap bitmap, int sourceLeft, int sourceTop, int sourceRight, int sourceBottom,
+                           int destinationLeft, int destinationTop, int destinationRight, int destinationBottom, Paint paint) {
+        record(DRAW_BITMAP, bitmap, (destinationLeft + destinationRight) / 2f, (destinationTop + destinationBottom) / 2f);
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+        record(DRAW_TEXT, text, x, y);
+    }
+
+    @Override
+    public void drawBitmapMesh(Bitmap bitmap, int columns, int rows, float[] vertices, Paint paint) {
+        // Center of the vertices' bounds.
+        int floatCount = (columns + 1) * (rows + 1) * 2;
+        float left = Float.MAX_VALUE;
+        float top = Float.MAX_VALUE;
+        float right = -Float.MAX_VALUE;
+        float bottom = -Float.MAX_VALUE;
+        for (int i = 0; i < floatCount; i += 2) {
+            left = Math.min(left, vertices[i]);
+            right = Math.max(right, vertices[i]);
+            top = Math.min(top, vertices[i + 1]);
+            bottom = Math.max(bottom, vertices[i + 1]);
+        }
+        record(DRAW_MESH, bitmap, (left + right) / 2, (top + bottom) / 2);
+    }
+
+    private void record(int operation, Object subject, float x, float y){
+        if(count == operations.length){
+            int capacity = count * 2;
+            operations = Arrays.copyOf(operations, capacity);
+            centers = Arrays.copyOf(centers, capacity * 2);
+            subjects = Arrays.copyOf(subjects, capacity);
+        }
+
+        operations[count] = operation;
+        subjects[count] = subject;
+        centers[count * 2] = matrix[Affine2D.SCALE_X] * x + matrix[Affine2D.SKEW_X] * y + matrix[Affine2D.TRANS_X];
+        centers[count * 2 + 1] = matrix[Affine2D.SKEW_Y] * x + matrix[Affine2D.SCALE_Y] * y + matrix[Affine2D.TRANS_Y];
+        count++;
+    }
+}
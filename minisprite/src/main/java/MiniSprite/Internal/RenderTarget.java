@@ -0,0 +1,41 @@
+package MiniSprite.Internal;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+/**
+ * What transforms draw on, so scenes can be drawn without a real Canvas.
+ * CanvasRenderTarget draws on an android Canvas, RecordingRenderTarget only records draw calls (headless).
+ * See Transform2D.draw(RenderTarget) and MiniSpriteSurface.stepFrame.
+ */
+public interface RenderTarget {
+    int getWidth();
+    int getHeight();
+
+    /**
+     * @return Canvas being drawn on, or null if headless.
+     */
+    Canvas getCanvas();
+
+    void save();
+    void restore();
+
+    /**
+     * Pre concat an affine matrix, see Affine2D for the layout.
+     */
+    void concat(float[] affine);
+
+    /**
+     * Draw source rectangle of bitmap stretched to destination rectangle.
+     */
+    void drawBitmap(Bitmap bitmap, int sourceLeft, int sourceTop, int sourceRight, int sourceBottom,
+                    int destinationLeft, int destinationTop, int destinationRight, int destinationBottom, Paint paint);
+
+    void drawText(String text, float x, float y, Paint paint);
+
+    /**
+     * Draw bitmap spread over a grid of columns + 1 by rows + 1 vertices, see Canvas.drawBitmapMesh.
+     */
+    void drawBitmapMesh(Bitmap bitmap, int columns, int rows, float[] vertices, Paint paint);
+}
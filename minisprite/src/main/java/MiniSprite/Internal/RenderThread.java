@@ -0,0 +1,46 @@
+package MiniSprite.Internal;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Draws frame snapshots published by the simulation thread, when pipelined rendering is enabled.
+ * Sleeps until woken with a new snapshot. Pacing comes from the surface: unlocking the canvas waits for the display.
+ */
+public class RenderThread extends Thread {
+    private static final String THREAD_NAME = PackageUtilities.PACKAGE_NAME + ".Render";
+
+    private final ISnapshotDrawable drawable;
+    private final SnapshotTripleBuffer snapshots;
+    private volatile boolean is_running = true;
+
+    public RenderThread(ISnapshotDrawable drawable, SnapshotTripleBuffer snapshots){
+        super(THREAD_NAME);
+        this.drawable = drawable;
+        this.snapshots = snapshots;
+        setDaemon(true);
+    }
+
+    public void run(){
+        while(is_running){
+            FrameSnapshot frameSnapshot = snapshots.acquireFront();
+            if(frameSnapshot == null){
+                LockSupport.park(this);
+                continue;
+            }
+
+            drawable.drawSnapshot(frameSnapshot);
+        }
+    }
+
+    /**
+     * Called by the simulation thread after publishing a snapshot.
+     */
+    public void wake(){
+        LockSupport.unpark(this);
+    }
+
+    public void finish(){
+        is_running = false;
+        LockSupport.unpark(this);
+    }
+}
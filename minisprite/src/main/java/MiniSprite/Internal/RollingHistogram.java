@@ -0,0 +1,68 @@
+package MiniSprite.Internal;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the last few hundred samples (e.g. phase durations in nanoseconds) to report percentiles over.
+ * Recording is O(1) and never allocates, percentiles sort a preallocated copy when queried.
+ * Safe to record and query from any thread.
+ */
+public final class RollingHistogram {
+    public static final int DEFAULT_CAPACITY = 512;
+
+    private final long[] samples;
+    private final long[] sorted;
+    private int next;
+    private int count;
+    private long total;
+
+    public RollingHistogram(){
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity Number of most recent samples kept.
+     */
+    public RollingHistogram(int capacity){
+        samples = new long[capacity];
+        sorted = new long[capacity];
+    }
+
+    public synchronized void record(long value){
+        if(count == samples.length){
+            total -= samples[next];
+        } else {
+            count++;
+        }
+
+        samples[next] = value;
+        total += value;
+        next = (next + 1) % samples.length;
+    }
+
+    /**
+     * @param percentile 0 to 100, e.g. 95 for p95.
+     * @return Smallest sample at least percentile percent of samples are less or equal to, 0 if empty.
+     */
+    public synchronized long getPercentile(double percentile){
+        if(count == 0) return 0;
+
+        System.arraycopy(samples, 0, sorted, 0, count);
+        Arrays.sort(sorted, 0, count);
+        int index = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    public long getP50() { return getPercentile(50); }
+    public long getP95() { return getPercentile(95); }
+    public long getP99() { return getPercentile(99); }
+
+    public synchronized long getMean() { return count == 0 ? 0 : total / count; }
+    public synchronized int getCount() { return count; }
+
+    public synchronized void clear(){
+        next = 0;
+        count = 0;
+        total = 0;
+    }
+}
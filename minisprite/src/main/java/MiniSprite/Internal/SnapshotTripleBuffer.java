@@ -0,0 +1,46 @@
+package MiniSprite.Internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock free hand off of frame snapshots from the simulation thread to the render thread.
+ * Three snapshots: the writer owns one (back), the reader owns one (front), and the third sits in between.
+ * Publishing and acquiring each swap with the one in between in a single atomic step, so neither thread ever waits.
+ * If the writer publishes twice before the reader acquires, the older frame is skipped, the reader always gets the newest.
+ */
+public final class SnapshotTripleBuffer {
+    private static final int INDEX_MASK = 3;
+    // Set on the shared index when it holds a frame the reader has not seen.
+    private static final int FRESH = 4;
+
+    private final FrameSnapshot[] snapshots = { new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot() };
+    private final AtomicInteger shared = new AtomicInteger(1);
+    private int back = 0;  // Writer only.
+    private int front = 2; // Reader only.
+
+    /**
+     * Writer only.
+     * @return Snapshot to capture the next frame into.
+     */
+    public FrameSnapshot getBack(){
+        return snapshots[back];
+    }
+
+    /**
+     * Writer only. Hand the back snapshot to the reader and take a free one in its place.
+     */
+    public void publish(){
+        back = shared.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Reader only.
+     * @return Newest published snapshot, or null if nothing was published since the last call.
+     */
+    public FrameSnapshot acquireFront(){
+        if((shared.get() & FRESH) == 0) return null;
+
+        front = shared.getAndSet(front) & INDEX_MASK;
+        return snapshots[front];
+    }
+}
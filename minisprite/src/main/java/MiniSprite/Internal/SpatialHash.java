@@ -0,0 +1,173 @@
+package MiniSprite.Internal;
+
+import java.util.Arrays;
+import java.util.List;
+
+import MiniSprite.Transform2D;
+
+/**
+ * Uniform grid broadphase for collision queries.
+ * Transforms are bucketed by the grid cell their world center falls in, so a query only visits
+ * the cells its rectangle covers instead of every transform.
+ * Cells are stored in a hash table rather than a fixed grid, so the world has no bounds
+ * and transforms parked far off screen cost nothing extra.
+ * Backing arrays are reused between rebuilds; a rebuild or query allocates nothing once warmed up.
+ */
+public class SpatialHash {
+    private static final int DEFAULT_CELL_SIZE = 128;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int cellShift;
+
+    private int[] bucketHeads = new int[INITIAL_CAPACITY];
+    private int bucketMask = INITIAL_CAPACITY - 1;
+
+    private Transform2D[] entries = new Transform2D[INITIAL_CAPACITY];
+    private int[] entryCellX = new int[INITIAL_CAPACITY];
+    private int[] entryCellY = new int[INITIAL_CAPACITY];
+    private int[] entryNext = new int[INITIAL_CAPACITY];
+    private int entryCount;
+
+    public SpatialHash(){
+        setCellSize(DEFAULT_CELL_SIZE);
+        Arrays.fill(bucketHeads, -1);
+    }
+
+    /**
+     * Cells work best at about the size of the largest colliding transform.
+     * Rounded up to a power of two. Takes effect on the next rebuild.
+     * @param cellSize Width and height of one grid cell in pixels.
+     */
+    public void setCellSize(int cellSize){
+        if(cellSize <= 0) throw new IllegalArgumentException("Cell size must be positive");
+        cellShift = 32 - Integer.numberOfLeadingZeros(cellSize - 1);
+    }
+
+    /**
+     * Remove every transform from the grid, keeping the backing arrays.
+     */
+    public void clear(){
+        Arrays.fill(entries, 0, entryCount, null);
+        Arrays.fill(bucketHeads, -1);
+        entryCount = 0;
+    }
+
+    /**
+     * Add transform to the cell containing its world center.
+     * @param transform Transform to index. Later moves are not tracked until the next rebuild.
+     */
+    public void insert(Transform2D transform){
+        if(entryCount == entries.length){
+            grow();
+        }
+
+        int cellX = toCell(transform.getWorldCenterX());
+        int cellY = toCell(transform.getWorldCenterY());
+        int bucket = bucketOf(cellX, cellY);
+
+        int index = entryCount++;
+        entries[index] = transform;
+        entryCellX[index] = cellX;
+        entryCellY[index] = cellY;
+        entryNext[index] = bucketHeads[bucket];
+        bucketHeads[bucket] = index;
+    }
+
+    /**
+     * Find transforms whose world center lies in the rectangle, left/top inclusive and right/bottom exclusive.
+     * @param results Cleared, then filled with matches.
+     */
+    public void queryRect(int left, int top, int right, int bottom, List<Transform2D> results){
+        results.clear();
+        query(left, top, right, bottom, null, results);
+    }
+
+    /**
+     * Find transforms that collide with transform, using the same test as Transform2D.isCollidingWith.
+     * The transform itself is never included.
+     * @param transform Transform to test against others.
+     * @param results Cleared, then filled with matches.
+     */
+    public void queryOverlapping(Transform2D transform, List<Transform2D> results){
+        results.clear();
+        float centerX = transform.getWorldCenterX();
+        float centerY = transform.getWorldCenterY();
+        query(centerX - transform.Width,
+                centerY - transform.Height,
+                centerX + transform.Width,
+                centerY + transform.Height,
+                transform,
+                results);
+    }
+
+    private void query(float left, float top, float right, float bottom, Transform2D overlapping, List<Transform2D> results){
+        int minCellX = toCell(left);
+        int minCellY = toCell(top);
+        int maxCellX = toCell(right);
+        int maxCellY = toCell(bottom);
+
+        long cellCount = ((long) maxCellX - minCellX + 1) * ((long) maxCellY - minCellY + 1);
+        if(cellCount > entryCount){
+            // Rectangle covers more cells than there are transforms, checking each transform is cheaper.
+            for(int i = 0; i < entryCount; i++){
+                addIfMatching(i, left, top, right, bottom, overlapping, results);
+            }
+            return;
+        }
+
+        for(int cellY = minCellY; cellY <= maxCellY; cellY++){
+            for(int cellX = minCellX; cellX <= maxCellX; cellX++){
+                // Different cells can share a bucket, so check the cell of each entry in the chain.
+                for(int i = bucketHeads[bucketOf(cellX, cellY)]; i != -1; i = entryNext[i]){
+                    if(entryCellX[i] == cellX && entryCellY[i] == cellY){
+                        addIfMatching(i, left, top, right, bottom, overlapping, results);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addIfMatching(int index, float left, float top, float right, float bottom, Transform2D overlapping, List<Transform2D> results){
+        Transform2D candidate = entries[index];
+
+        if(overlapping != null){
+            if(candidate != overlapping && candidate.isCollidingWith(overlapping)){
+                results.add(candidate);
+            }
+            return;
+        }
+
+        float centerX = candidate.getWorldCenterX();
+        float centerY = candidate.getWorldCenterY();
+        if(centerX >= left && centerX < right && centerY >= top && centerY < bottom){
+            results.add(candidate);
+        }
+    }
+
+    private int toCell(float worldPosition){
+        return ((int) Math.floor(worldPosition)) >> cellShift;
+    }
+
+    private int bucketOf(int cellX, int cellY){
+        int hash = cellX * 0x9E3779B1 ^ cellY * 0x85EBCA77;
+        return (hash ^ (hash >>> 16)) & bucketMask;
+    }
+
+    private void grow(){
+        int capacity = entries.length * 2;
+        entries = Arrays.copyOf(entries, capacity);
+        entryCellX = Arrays.copyOf(entryCellX, capacity);
+        entryCellY = Arrays.copyOf(entryCellY, capacity);
+        entryNext = Arrays.copyOf(entryNext, capacity);
+
+        // Keep about one entry per bucket so chains stay short.
+        bucketHeads = new int[capacity];
+        bucketMask = capacity - 1;
+        Arrays.fill(bucketHeads, -1);
+        for(int i = 0; i < entryCount; i++){
+            int bucket = bucketOf(entryCellX[i], entryCellY[i]);
+            entryNext[i] = bucketHeads[bucket];
+            bucketHeads[bucket] = i;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package MiniSprite.Internal;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.os.Build;
+
+import java.util.Arrays;
+
+/**
+ * Draws consecutive sprites sharing one bitmap and paint with a single Canvas.drawVertices call.
+ * Each sprite adds a quad, already transformed to screen space, and its source rectangle as texture coordinates.
+ * The bitmap is applied with a BitmapShader, so texture coordinates are in bitmap pixels.
+ *
+ * Begin once per frame on an untransformed canvas, add sprites in draw order, and flush before drawing
+ * anything that is not batched, so draw order is kept. Reuses its arrays, a steady frame allocates nothing.
+ * One thread at a time.
+ */
+public final class SpriteBatcher {
+    // drawVertices indexes with shorts, 4 vertices per quad.
+    private static final int MAX_QUADS = 65536 / 4;
+    private static final int INITIAL_QUADS = 64;
+    private static final int INITIAL_SHADERS = 16;
+
+    private Canvas canvas;
+    private Bitmap bitmap;
+    private Paint paint;
+    private int quadCount;
+    private float[] vertices = new float[INITIAL_QUADS * 8];
+    private float[] textureCoordinates = new float[INITIAL_QUADS * 8];
+    private short[] indices = new short[0];
+
+    private final Paint batchPaint = new Paint();
+    private final Paint defaultPaint = new Paint();
+    // Shaders hold their bitmap, so only those drawn last frame are kept, the rest are dropped in end.
+    // A bitmap evicted from BitmapCache or replaced by its sprite is let go of once a frame no longer draws it.
+    private Bitmap[] shaderBitmaps = new Bitmap[INITIAL_SHADERS];
+    private BitmapShader[] shaders = new BitmapShader[INITIAL_SHADERS];
+    private boolean[] shaderUsed = new boolean[INITIAL_SHADERS];
+    private int shaderCount;
+
+    private int drawCallCount;
+    private int batchedCount;
+
+    public SpriteBatcher(){
+        growIndices(INITIAL_QUADS);
+    }
+
+    /**
+     * drawVertices with a shader is software only before API 29.
+     * @return True if canvas can draw batches.
+     */
+    public static boolean isSupported(Canvas canvas){
+        return !canvas.isHardwareAccelerated() || Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q;
+    }
+
+    /**
+     * Start a frame.
+     * @param canvas Canvas to draw on, with no transform applied.
+     */
+    public void begin(Canvas canvas){
+        this.canvas = canvas;
+        drawCallCount = 0;
+        batchedCount = 0;
+    }
+
+    /**
+     * Add one sprite, drawing the pending batch first if it uses another bitmap or paint.
+     * @param bitmap Bitmap to draw from.
+     * @param paint Paint to draw with, null for default.
+     * @param affine Transform of the destination rectangle to screen, see Affine2D.
+     */
+    public void add(Bitmap bitmap, Paint paint, float[] affine,
+                    float sourceLeft, float sourceTop, float sourceRight, float sourceBottom,
+                    float destinationLeft, float destinationTop, float destinationRight, float destinationBottom){
+        if(quadCount > 0 && (bitmap != this.bitmap || paint != this.paint || quadCount == MAX_QUADS)){
+            flush();
+        }
+        if(quadCount * 8 == vertices.length){
+            int capacity = Math.min(MAX_QUADS, quadCount * 2);
+            vertices = Arrays.copyOf(vertices, capacity * 8);
+            textureCoordinates = Arrays.copyOf(textureCoordinates, capacity * 8);
+            growIndices(capacity);
+        }
+
+        this.bitmap = bitmap;
+        this.paint = paint;
+
+        float scaleX = affine[Affine2D.SCALE_X];
+        float skewX = affine[Affine2D.SKEW_X];
+        float translateX = affine[Affine2D.TRANS_X];
+        float skewY = affine[Affine2D.SKEW_Y];
+        float scaleY = affine[Affine2D.SCALE_Y];
+        float translateY = affine[Affine2D.TRANS_Y];
+
+        // Corners clockwise from top left.
+        int offset = quadCount * 8;
+        putVertex(offset, destinationLeft, destinationTop, scaleX, skewX, translateX, skewY, scaleY, translateY);
+        putVertex(offset + 2, destinationRight, destinationTop, scaleX, skewX, translateX, skewY, scaleY, translateY);
+        putVertex(offset + 4, destinationRight, destinationBottom, scaleX, skewX, translateX, skewY, scaleY, translateY);
+        putVertex(offset + 6, destinationLeft, destinationBottom, scaleX, skewX, translateX, skewY, scaleY, translateY);
+
+        float[] texture = textureCoordinates;
+        texture[offset] = sourceLeft;
+        texture[offset + 1] = sourceTop;
+        texture[offset + 2] = sourceRight;
+        texture[offset + 3] = sourceTop;
+        texture[offset + 4] = sourceRight;
+        texture[offset + 5] = sourceBottom;
+        texture[offset + 6] = sourceLeft;
+        texture[offset + 7] = sourceBottom;
+
+        quadCount++;
+        batchedCount++;
+    }
+
+    private void putVertex(int offset, float x, float y,
+                           float scaleX, float skewX, float translateX, float skewY, float scaleY, float translateY){
+        vertices[offset] = scaleX * x + skewX * y + translateX;
+        vertices[offset + 1] = skewY * x + scaleY * y + translateY;
+    }
+
+    /**
+     * Draw the pending batch, if any. Call before drawing anything else on the canvas.
+     */
+    public void flush(){
+        if(quadCount == 0) return;
+
+        BitmapShader shader = getShader(bitmap);
+        batchPaint.set(paint != null ? paint : defaultPaint);
+        batchPaint.setShader(shader);
+
+        canvas.drawVertices(Canvas.VertexMode.TRIANGLES, quadCount * 8, vertices, 0,
+                textureCoordinates, 0, null, 0, indices, 0, quadCount * 6, batchPaint);
+        drawCallCount++;
+
+        quadCount = 0;
+        bitmap = null;
+        paint = null;
+    }
+
+    /**
+     * Flush and let go of the canvas, and of shaders this frame did not draw with.
+     */
+    public void end(){
+        flush();
+        batchPaint.setShader(null);
+        canvas = null;
+        dropUnusedShaders();
+    }
+
+    /**
+     * Drop every cached shader, and the bitmaps they hold. Call on frames not batched.
+     */
+    public void releaseShaders(){
+        if(shaderCount == 0) return;
+
+        Arrays.fill(shaderUsed, 0, shaderCount, false);
+        dropUnusedShaders();
+    }
+
+    // Linear, a frame only draws a handful of distinct bitmaps.
+    private BitmapShader getShader(Bitmap bitmap){
+        for (int i = 0; i < shaderCount; i++) {
+            if(shaderBitmaps[i] == bitmap){
+                shaderUsed[i] = true;
+                return shaders[i];
+            }
+        }
+
+        if(shaderCount == shaders.length){
+            shaderBitmaps = Arrays.copyOf(shaderBitmaps, shaderCount * 2);
+            shaders = Arrays.copyOf(shaders, shaderCount * 2);
+            shaderUsed = Arrays.copyOf(shaderUsed, shaderCount * 2);
+        }
+        BitmapShader shader = new BitmapShader(bitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+        shaderBitmaps[shaderCount] = bitmap;
+        shaders[shaderCount] = shader;
+        shaderUsed[shaderCount] = true;
+        shaderCount++;
+        return shader;
+    }
+
+    private void dropUnusedShaders(){
+        int kept = 0;
+        for (int i = 0; i < shaderCount; i++) {
+            if(!shaderUsed[i]) continue;
+
+            shaderBitmaps[kept] = shaderBitmaps[i];
+            shaders[kept] = shaders[i];
+            shaderUsed[kept] = false;
+            kept++;
+        }
+        Arrays.fill(shaderBitmaps, kept, shaderCount, null);
+        Arrays.fill(shaders, kept, shaderCount, null);
+        shaderCount = kept;
+    }
+
+    /**
+     * @return drawVertices calls since begin.
+     */
+    public int getDrawCallCount() { return drawCallCount; }
+
+    /**
+     * @return Sprites added since begin.
+     */
+    public int getBatchedCount() { return batchedCount; }
+
+    private void growIndices(int quadCapacity){
+        int oldQuads = indices.length / 6;
+        indices = Arrays.copyOf(indices, quadCapacity * 6);
+        // Two triangles per quad, sharing the top right to bottom left diagonal.
+        for (int quad = oldQuads; quad < quadCapacity; quad++) {
+            int vertex = quad * 4;
+            int index = quad * 6;
+            indices[index] = (short) vertex;
+            indices[index + 1] = (short) (vertex + 1);
+            indices[index + 2] = (short) (vertex + 3);
+            indices[index + 3] = (short) (vertex + 1);
+            indices[index + 4] = (short) (vertex + 2);
+            indices[index + 5] = (short) (vertex + 3);
+        }
+    }
+}
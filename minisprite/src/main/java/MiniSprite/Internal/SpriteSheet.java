@@ -0,0 +1,108 @@
+package MiniSprite.Internal;
+
+import android.graphics.Rect;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Source rectangles of every slice of a sprite sheet, computed once and shared by all sprites slicing
+ * a bitmap of the same size into the same grid. Drawing a slice is then an array lookup.
+ * Slices are numbered row by row: index 0 is top left, index columns is the first slice of the second row.
+ * Immutable, safe to share between threads.
+ */
+public final class SpriteSheet {
+    private static final ConcurrentHashMap<Key, SpriteSheet> SHEETS = new ConcurrentHashMap<>();
+
+    private static final class Key {
+        final int bitmapWidth;
+        final int bitmapHeight;
+        final int columns;
+        final int rows;
+
+        Key(int bitmapWidth, int bitmapHeight, int columns, int rows){
+            this.bitmapWidth = bitmapWidth;
+            this.bitmapHeight = bitmapHeight;
+            this.columns = columns;
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) return true;
+            if (!(other instanceof Key)) return false;
+
+            Key key = (Key) other;
+            return bitmapWidth == key.bitmapWidth && bitmapHeight == key.bitmapHeight && columns == key.columns && rows == key.rows;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = bitmapWidth;
+            hash = 31 * hash + bitmapHeight;
+            hash = 31 * hash + columns;
+            hash = 31 * hash + rows;
+            return hash;
+        }
+    }
+
+    private final int sliceWidth;
+    private final int sliceHeight;
+    private final int count;
+    // Left, top, right, bottom of each slice.
+    private final int[] rects;
+
+    private SpriteSheet(int bitmapWidth, int bitmapHeight, int columns, int rows){
+        sliceWidth = bitmapWidth / columns;
+        sliceHeight = bitmapHeight / rows;
+        count = columns * rows;
+        rects = new int[count * 4];
+        for (int i = 0; i < count; i++) {
+            int left = (i % columns) * sliceWidth;
+            int top = (i / columns) * sliceHeight;
+            rects[i * 4] = left;
+            rects[i * 4 + 1] = top;
+            rects[i * 4 + 2] = left + sliceWidth;
+            rects[i * 4 + 3] = top + sliceHeight;
+        }
+    }
+
+    /**
+     * Get the shared table for a sheet, building it on first use.
+     * @param bitmapWidth Width of the whole sheet in pixels.
+     * @param bitmapHeight Height of the whole sheet in pixels.
+     * @param columns Number of slices across.
+     * @param rows Number of slices down.
+     */
+    public static SpriteSheet get(int bitmapWidth, int bitmapHeight, int columns, int rows){
+        if(columns < 1 || rows < 1) throw new IllegalArgumentException("Sprite sheet needs at least 1 column and row, got " + columns + "x" + rows);
+
+        Key key = new Key(bitmapWidth, bitmapHeight, columns, rows);
+        SpriteSheet sheet = SHEETS.get(key);
+        if(sheet == null){
+            SpriteSheet created = new SpriteSheet(bitmapWidth, bitmapHeight, columns, rows);
+            sheet = SHEETS.putIfAbsent(key, created);
+            if(sheet == null){
+                sheet = created;
+            }
+        }
+        return sheet;
+    }
+
+    public int getSliceWidth() { return sliceWidth; }
+    public int getSliceHeight() { return sliceHeight; }
+    public int getSliceCount() { return count; }
+
+    public int getLeft(int sliceIndex) { return rects[sliceIndex * 4]; }
+    public int getTop(int sliceIndex) { return rects[sliceIndex * 4 + 1]; }
+    public int getRight(int sliceIndex) { return rects[sliceIndex * 4 + 2]; }
+    public int getBottom(int sliceIndex) { return rects[sliceIndex * 4 + 3]; }
+
+    /**
+     * @param sliceIndex 0 to getSliceCount() - 1.
+     * @param rect Set to the slice's source rectangle in bitmap pixels.
+     */
+    public void setRect(int sliceIndex, Rect rect){
+        int index = sliceIndex * 4;
+        rect.set(rects[index], rects[index + 1], rects[index + 2], rects[index + 3]);
+    }
+}
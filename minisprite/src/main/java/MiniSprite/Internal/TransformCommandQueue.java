@@ -0,0 +1,80 @@
+package MiniSprite.Internal;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import MiniSprite.Transform2D;
+
+/**
+ * Lock free multi producer, single consumer queue of instantiate/destroy commands.
+ * Any thread can push without blocking: one atomic swap of the tail, then one volatile write linking the node.
+ * Only the Animator thread polls, when DrawnTransformCollection resolves changes once per frame.
+ *
+ * The volatile link is what publishes a command: everything the producer wrote before pushing
+ * (including fields of the transform) is visible to the consumer once it reads the command.
+ * A command pushed while the consumer is polling may not be seen until the next frame.
+ */
+public class TransformCommandQueue {
+    public static final class Command {
+        Transform2D transform;
+        int sortingLayer;
+        boolean destroy;
+        volatile Command next;
+
+        public Command(Transform2D transform, int sortingLayer, boolean destroy){
+            this.transform = transform;
+            this.sortingLayer = sortingLayer;
+            this.destroy = destroy;
+        }
+
+        /**
+         * Link another command after this one before pushing, so a batch is published in one step.
+         * Only valid on commands not yet pushed.
+         * @param next Command to follow this one.
+         */
+        public void setNext(Command next){
+            this.next = next;
+        }
+    }
+
+    // Consumer side, last command read. Starts as an empty stub.
+    private Command head;
+    // Producer side, last command pushed.
+    private final AtomicReference<Command> tail;
+
+    public TransformCommandQueue(){
+        Command stub = new Command(null, 0, false);
+        head = stub;
+        tail = new AtomicReference<>(stub);
+    }
+
+    /**
+     * Push one command. Safe from any thread.
+     */
+    public void push(Command command){
+        push(command, command);
+    }
+
+    /**
+     * Push a chain of commands already linked with setNext. Safe from any thread.
+     * Consumers see the whole chain in order, never interleaved with other producers.
+     * @param first First command of chain.
+     * @param last Last command of chain, its next must be null.
+     */
+    public void push(Command first, Command last){
+        Command previous = tail.getAndSet(last);
+        // Until this write the chain is invisible to the consumer, which just sees an empty queue.
+        previous.next = first;
+    }
+
+    /**
+     * Consumer only.
+     * @return Next command, or null if nothing has been published yet.
+     */
+    public Command poll(){
+        Command next = head.next;
+        if(next == null) return null;
+
+        head = next;
+        return next;
+    }
+}
@@ -0,0 +1,79 @@
+package MiniSprite.Internal;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+import MiniSprite.Transform2D;
+
+/**
+ * Everything needed to draw one transform, copied from it at the end of a simulation frame.
+ * Lets the render thread draw frame N while the simulation thread changes transforms for frame N+1.
+ * Filled by Transform2D.writeSnapshot, drawn by Transform2D.relativeDrawSnapshot.
+ * Custom transforms use the generic fields, or subclass their Transform2D's snapshot fields as needed.
+ */
+public final class TransformSnapshot {
+    public Transform2D Transform;
+    public final Matrix DrawMatrix = new Matrix();
+    public final float[] DrawAffine = new float[Affine2D.SIZE];
+    public boolean DrawMatrixIdentity;
+    public int SortingLayer;
+    public int Width;
+    public int Height;
+    public boolean DebugMode;
+
+    public Bitmap Bitmap;
+    public final Rect SourceRect = new Rect();
+    public final Rect DestinationRect = new Rect();
+    public Paint Paint;
+    public String Text;
+    // Set by sprites drawing Bitmap's SourceRect to DestinationRect, which the render thread may batch (SpriteBatcher).
+    public boolean Batchable;
+    // Grown as needed and kept between frames, only the first VertexCount floats are valid.
+    public float[] Vertices = new float[0];
+    public int VertexCount;
+
+    /**
+     * Draw as Transform2D.draw would have when the snapshot was written.
+     * @param canvas Locked canvas of render thread.
+     */
+    public void draw(Canvas canvas){
+        canvas.save();
+        if(!DrawMatrixIdentity){
+            canvas.concat(DrawMatrix);
+        }
+
+        Transform.relativeDrawSnapshot(canvas, this);
+
+        if(DebugMode){
+            Transform2D.drawDebug(canvas, Width, Height);
+        }
+
+        canvas.restore();
+    }
+
+    /**
+     * Copy vertices (e.g. of a mesh), reusing Vertices when large enough.
+     * @param vertices Source array.
+     * @param count Number of floats to copy.
+     */
+    public void setVertices(float[] vertices, int count){
+        if(Vertices.length < count){
+            Vertices = new float[count];
+        }
+        System.arraycopy(vertices, 0, Vertices, 0, count);
+        VertexCount = count;
+    }
+
+    /**
+     * Drop references so the snapshot does not keep destroyed transforms and their bitmaps alive.
+     */
+    public void clear(){
+        Transform = null;
+        Bitmap = null;
+        Paint = null;
+        Text = null;
+    }
+}
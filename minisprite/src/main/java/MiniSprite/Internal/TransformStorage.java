@@ -0,0 +1,58 @@
+package MiniSprite.Internal;
+
+import java.util.Arrays;
+
+import MiniSprite.Transform2D;
+
+/**
+ * Position, rotation and size of many transforms in flat primitive arrays, indexed by entity.
+ * Lets a ComponentSystem update thousands of transforms in one tight loop instead of
+ * following a pointer to every transform and component.
+ *
+ * While a transform is in storage its entry is authoritative. Transform2D keeps its public fields as the API
+ * and syncs them with its entry whenever its world transform is updated. Only Count entries are valid.
+ */
+public final class TransformStorage {
+    private static final int INITIAL_CAPACITY = 64;
+
+    public int Count;
+    public Transform2D[] Transforms = new Transform2D[INITIAL_CAPACITY];
+    public int[] PositionX = new int[INITIAL_CAPACITY];
+    public int[] PositionY = new int[INITIAL_CAPACITY];
+    public int[] Width = new int[INITIAL_CAPACITY];
+    public int[] Height = new int[INITIAL_CAPACITY];
+    public float[] RotationAngleDegrees = new float[INITIAL_CAPACITY];
+
+    /**
+     * Called by Transform2D when a system takes it over. Copies its current fields in.
+     * @param transform Transform to add as the next entity.
+     * @return Entity index of transform.
+     */
+    public int add(Transform2D transform){
+        if(Count == Transforms.length){
+            int capacity = Count * 2;
+            Transforms = Arrays.copyOf(Transforms, capacity);
+            PositionX = Arrays.copyOf(PositionX, capacity);
+            PositionY = Arrays.copyOf(PositionY, capacity);
+            Width = Arrays.copyOf(Width, capacity);
+            Height = Arrays.copyOf(Height, capacity);
+            RotationAngleDegrees = Arrays.copyOf(RotationAngleDegrees, capacity);
+        }
+
+        Transforms[Count] = transform;
+        PositionX[Count] = transform.PositionX;
+        PositionY[Count] = transform.PositionY;
+        Width[Count] = transform.Width;
+        Height[Count] = transform.Height;
+        RotationAngleDegrees[Count] = transform.RotationAngleDegrees;
+        return Count++;
+    }
+
+    /**
+     * Remove all entities, keeping capacity.
+     */
+    public void clear(){
+        Arrays.fill(Transforms, 0, Count, null);
+        Count = 0;
+    }
+}
@@ -0,0 +1,745 @@
+package MiniSprite;
+
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.graphics.Rect;
+import android.view.Display;
+import android.view.SurfaceHolder;
+import android.view.SurfaceView;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import MiniSprite.Internal.Animator;
+import MiniSprite.Internal.CanvasLocker;
+import MiniSprite.Internal.DirtyRegionTracker;
+import MiniSprite.Internal.DrawnTransformCollection;
+import MiniSprite.Internal.FrameClock;
+import MiniSprite.Internal.FrameProfiler;
+import MiniSprite.Internal.FrameSnapshot;
+import MiniSprite.Internal.IDrawable;
+import MiniSprite.Internal.ISnapshotDrawable;
+import MiniSprite.Internal.MiniLog;
+import MiniSprite.Internal.PackageUtilities;
+import MiniSprite.Internal.ParallelUpdater;
+import MiniSprite.Internal.RenderTarget;
+import MiniSprite.Internal.RenderThread;
+import MiniSprite.Internal.SnapshotTripleBuffer;
+import MiniSprite.Internal.SpriteBatcher;
+import MiniSprite.Internal.TransformSnapshot;
+
+/**
+ * The core of MiniSprite
+ * Instead of having Activity inherit Surface holder, can create instance of this.
+ * Runs a new Animate thread, calling all CanvasTransform.draw in TransformCollection.
+ * Before and after drawing, will automatically call all Listener methods.
+ *
+ * With pipelined rendering, the Animate thread only simulates and a separate render thread draws,
+ * see setPipelinedRendering.
+ *
+ * A headless surface (no SurfaceView, no Animate thread) runs scenes off device, see stepFrame.
+ */
+public class MiniSpriteSurface implements SurfaceHolder.Callback, IDrawable, ISnapshotDrawable {
+    public final DrawnTransformCollection AllTransforms = new DrawnTransformCollection();
+    public final SurfaceView SurfaceView;
+
+    // Read by the render thread too when pipelined.
+    private volatile SurfaceHolder holder;
+    private volatile int surfaceWidth;
+    private volatile int surfaceHeight;
+    private final FrameClock frameClock = new FrameClock();
+    private final Animator animator;
+    private final List<IMiniSpriteSurfaceListener> listeners = new ArrayList<>();
+    private final List<ComponentSystem<?>> systems = new ArrayList<>();
+    private boolean matchDisplayRefreshRate = true;
+    private volatile boolean culling = true;
+    private volatile int cullingMargin;
+    private volatile int drawnCount;
+    private volatile int culledCount;
+    private volatile boolean parallelUpdate;
+    // Created on first parallel update, shut down by release.
+    private volatile ParallelUpdater parallelUpdater;
+    private boolean released;
+
+    private final CanvasLocker canvasLocker = new CanvasLocker();
+    private volatile boolean dirtyRegionRendering;
+    private final DirtyRegionTracker dirtyRegionTracker = new DirtyRegionTracker();
+
+    private volatile boolean pipelinedRendering;
+    // Created on first pipelined frame.
+    private volatile RenderThread renderThread;
+    private final SnapshotTripleBuffer snapshots = new SnapshotTripleBuffer();
+    // Stands in for the locked canvas while simulating, so components can still read width and height.
+    private final Picture simulationPicture = new Picture();
+
+    private final FrameProfiler profiler = new FrameProfiler();
+
+    private volatile boolean spriteBatching;
+    // One per drawing thread: Animate thread draws transforms, render thread draws snapshots.
+    private final SpriteBatcher transformBatcher = new SpriteBatcher();
+    private final SpriteBatcher snapshotBatcher = new SpriteBatcher();
+
+    public MiniSpriteSurface(SurfaceView surfaceView){
+        surfaceView.getHolder().addCallback(this);
+        SurfaceView = surfaceView;
+
+        animator = new Animator(this, frameClock);
+        animator.start();
+    }
+
+    /**
+     * Headless surface, e.g. for benchmarks and tests on a plain JVM. Nothing runs until stepFrame is called.
+     * @param width Width components see, as if it were the canvas width.
+     * @param height Height components see, as if it were the canvas height.
+     */
+    public MiniSpriteSurface(int width, int height){
+        SurfaceView = null;
+        animator = null;
+        surfaceWidth = width;
+        surfaceHeight = height;
+    }
+
+    /**
+     * @return Width of the surface in pixels. Prefer over canvas.getWidth() in components, the canvas is null when headless.
+     */
+    public int getWidth(){
+        return surfaceWidth;
+    }
+
+    /**
+     * @return Height of the surface in pixels.
+     */
+    public int getHeight(){
+        return surfaceHeight;
+    }
+
+    /**
+     *
+     * @param listener
+     */
+    public void addListener(IMiniSpriteSurfaceListener listener){
+        listeners.add(listener);
+    }
+
+    /**
+     * Update every component of the system's type in one batch rather than per transform.
+     * Systems run in registration order, after per transform updates, each fixed step.
+     * Call from the Animate thread, e.g. in onPreUpdate, or before the surface is created.
+     * @param system System to add.
+     */
+    public void registerSystem(ComponentSystem<?> system){
+        systems.add(system);
+    }
+
+    /**
+     * Components of the system's type go back to being updated by their transforms.
+     * Call from the Animate thread, e.g. in onPreUpdate.
+     * @param system System to remove.
+     */
+    public void unregisterSystem(ComponentSystem<?> system){
+        if(systems.remove(system)){
+            system.detach();
+        }
+    }
+
+    /**
+     * Opt in to updating parallel safe components (see Component.isParallelSafe) on all cores.
+     * Each step, parallel safe components of all transforms update first, spread over a work stealing pool,
+     * then every other component updates on the Animate thread, then systems. Drawing waits for all of it.
+     * @param parallelUpdate True to update in parallel.
+     */
+    public void setParallelUpdate(boolean parallelUpdate){
+        this.parallelUpdate = parallelUpdate;
+    }
+
+    /**
+     * By default transforms entirely outside the canvas are not drawn (see Transform2D.isCullable).
+     * @param culling False to draw every transform every frame.
+     */
+    public void setCulling(boolean culling){
+        this.culling = culling;
+    }
+
+    /**
+     * @param cullingMargin Pixels around the canvas that still count as on screen. Transforms are culled only once further out.
+     */
+    public void setCullingMargin(int cullingMargin){
+        this.cullingMargin = cullingMargin;
+    }
+
+    /**
+     * @return Transforms drawn last frame.
+     */
+    public int getDrawnCount(){
+        return drawnCount;
+    }
+
+    /**
+     * @return Transforms skipped last frame as they were off screen.
+     */
+    public int getCulledCount(){
+        return culledCount;
+    }
+
+    /**
+     * Opt in to drawing with the GPU where the platform allows (API 23+), falling back to software otherwise.
+     * Rotated and scaled sprites become cheap texture draws. Decoded sprite bitmaps are uploaded ahead of
+     * their first draw and stay resident as textures while BitmapCache keeps them.
+     * Set before the surface is created, a surface drawn with hardware cannot go back to software.
+     * Ignored with dirty region rendering, which needs software partial locks.
+     * @param hardwareCanvas True to use a hardware canvas.
+     */
+    public void setHardwareCanvas(boolean hardwareCanvas){
+        canvasLocker.setHardwareRequested(hardwareCanvas);
+    }
+
+    /**
+     * @return True if frames are drawn on a hardware canvas, false if software or hardware failed.
+     */
+    public boolean isHardwareCanvasActive(){
+        return !dirtyRegionRendering && canvasLocker.isHardwareActive();
+    }
+
+    /**
+     * Opt in to redrawing only the part of the screen that changed, for mostly static scenes.
+     * Transforms that moved or changed (see Transform2D.invalidate) are redrawn along with anything overlapping them,
+     * frames where nothing changed are skipped entirely. Large changes fall back to a full redraw.
+     *
+     * Listeners draw clipped to the changed area, call invalidate() after drawing something new in them.
+     * Canvas passed to onPreUpdate and components is not the screen, only use it for width and height.
+     * Ignored while pipelined rendering is enabled.
+     * @param dirtyRegionRendering True to redraw only what changed.
+     */
+    public void setDirtyRegionRendering(boolean dirtyRegionRendering){
+        this.dirtyRegionRendering = dirtyRegionRendering;
+        dirtyRegionTracker.invalidateAll();
+    }
+
+    /**
+     * With dirty region rendering, redraw the whole screen next frame.
+     */
+    public void invalidate(){
+        dirtyRegionTracker.invalidateAll();
+    }
+
+    /**
+     * Opt in to overlapping simulation and drawing. The Animate thread runs onPreUpdate, start and update
+     * for frame N+1 while a render thread draws frame N, instead of doing both while the canvas is locked.
+     *
+     * Drawing uses snapshots of each transform (Transform2D.writeSnapshot), taken at the end of each simulated frame.
+     * onPreDrawSprites and onPostDrawSprites run on the render thread, draw there but do not change transforms.
+     * Canvas passed to onPreUpdate and components is not the screen, only use it for width and height.
+     * @param pipelinedRendering True to draw on a separate render thread.
+     */
+    public void setPipelinedRendering(boolean pipelinedRendering){
+        this.pipelinedRendering = pipelinedRendering;
+    }
+
+    /**
+     * Draw runs of sprites sharing one bitmap and paint in the same sorting layer with one drawVertices call each,
+     * e.g. hundreds of sprites from one sprite sheet. Hardware canvases only batch on API 29+, otherwise sprites draw one by one.
+     * @param spriteBatching True to batch sprites.
+     */
+    public void setSpriteBatching(boolean spriteBatching){
+        this.spriteBatching = spriteBatching;
+    }
+
+    /**
+     * Per phase and per component timings, draw and cull counts. Disabled until profiler.setEnabled(true).
+     */
+    public FrameProfiler getProfiler(){
+        return profiler;
+    }
+
+    /**
+     * Clock shared by all components. Use for delta time, frame index and interpolation alpha
+     * instead of reading the system clock in each component.
+     * @return Frame clock advanced by the Animate thread.
+     */
+    public FrameClock getFrameClock(){
+        return frameClock;
+    }
+
+    /**
+     * By default a frame is drawn every vsync.
+     * A target frame rate below the display refresh rate skips vsyncs, above it has no effect.
+     * @param framesPerSecond Frames drawn per second.
+     */
+    public void setTargetFrameRate(int framesPerSecond){
+        matchDisplayRefreshRate = false;
+        if(animator != null){
+            animator.setTargetFrameRate(framesPerSecond);
+        }
+    }
+
+    /**
+     * Components update in fixed steps, independent of frame rate.
+     * @param updatesPerSecond Number of update calls per simulated second.
+     */
+    public void setFixedUpdateRate(int updatesPerSecond){
+        frameClock.setFixedUpdateRate(updatesPerSecond);
+    }
+
+    /**
+     * @param maxCatchUpSteps Most update calls run in one frame after a slow frame.
+     */
+    public void setMaxCatchUpSteps(int maxCatchUpSteps){
+        frameClock.setMaxCatchUpSteps(maxCatchUpSteps);
+    }
+
+    @Override
+    public void surfaceCreated(@NonNull SurfaceHolder surfaceHolder) {
+        MiniLog.log(MiniLog.DEBUG, PackageUtilities.LOG_TAG, "Surface Created");
+        holder = surfaceHolder;
+        Rect surfaceFrame = surfaceHolder.getSurfaceFrame();
+        surfaceWidth = surfaceFrame.width();
+        surfaceHeight = surfaceFrame.height();
+        matchDisplayRefreshRate();
+        // Not drawn here: this is the UI thread, frames only run on the Animate thread, which picks the surface up on its next frame.
+    }
+
+    @Override
+    public void surfaceChanged(@NonNull SurfaceHolder surfaceHolder, int i, int i1, int i2) {
+        MiniLog.log(MiniLog.DEBUG, PackageUtilities.LOG_TAG, "Surface Changed");
+        holder = surfaceHolder;
+        surfaceWidth = i1;
+        surfaceHeight = i2;
+    }
+
+    @Override
+    public void surfaceDestroyed(@NonNull SurfaceHolder surfaceHolder) {
+        holder = null;
+        release();
+    }
+
+    /**
+     * Stop the Animate and render threads and shut down the parallel update pool.
+     * Called by surfaceDestroyed. Call for headless surfaces once done with them, stepFrame still works afterwards, without parallel update.
+     */
+    public void release(){
+        if(animator != null){
+            animator.finish();
+        }
+        if(renderThread != null){
+            renderThread.finish();
+        }
+
+        synchronized (this){
+            released = true;
+            if(parallelUpdater != null){
+                parallelUpdater.shutdown();
+            }
+        }
+    }
+
+    @Override
+    public boolean canDraw() {
+        return holder != null;
+    }
+
+    /**
+     * Run one frame. Called by the Animate thread only, calls from any other thread are ignored:
+     * dirty region and pipelined frames simulate before locking a canvas, so the lock does not keep two callers apart.
+     */
+    @Override
+    public void draw() {
+        if(holder == null) return;
+        if(Thread.currentThread() != animator){
+            MiniLog.log(MiniLog.WARN, PackageUtilities.LOG_TAG, "draw ignored, frames only run on the Animate thread");
+            return;
+        }
+
+        if(pipelinedRendering){
+            simulate();
+            return;
+        }
+
+        if(dirtyRegionRendering){
+            drawDirtyRegion();
+            return;
+        }
+
+        long frameStart = profiler.begin(FrameProfiler.FRAME);
+        SurfaceHolder surfaceHolder = holder;
+        long lockStart = profiler.begin(FrameProfiler.LOCK_CANVAS);
+        Canvas c = canvasLocker.lock(surfaceHolder);
+        profiler.end(FrameProfiler.LOCK_CANVAS, lockStart);
+        if(c == null){
+            endSkippedFrame(frameStart);
+            return;
+        }
+
+        callPreUpdate(c);
+
+        simulateFrame(c);
+
+        callPreDraw(c);
+
+        drawTransforms(c);
+
+        callPostDraw(c);
+
+        unlockAndPost(surfaceHolder, c);
+        profiler.end(FrameProfiler.FRAME, frameStart);
+        profiler.endFrame(drawnCount, culledCount);
+    }
+
+    /**
+     * Run one whole frame on the calling thread, drawing on target instead of a locked canvas.
+     * Meant for headless surfaces. Listeners and components get target.getCanvas(), null for RecordingRenderTarget.
+     * @param frameTimeNanos Time of this frame, e.g. add 16_666_667 per call for a steady 60 frames per second.
+     * @param target Target to draw on.
+     */
+    public void stepFrame(long frameTimeNanos, RenderTarget target){
+        frameClock.beginFrame(frameTimeNanos);
+        long frameStart = profiler.begin(FrameProfiler.FRAME);
+        Canvas c = target.getCanvas();
+
+        callPreUpdate(c);
+
+        simulateFrame(c);
+
+        callPreDraw(c);
+
+        boolean cull = culling;
+        int margin = cullingMargin;
+        float right = target.getWidth() + margin;
+        float bottom = target.getHeight() + margin;
+        long drawStart = profiler.begin(FrameProfiler.DRAW);
+        int drawn = 0;
+        for (int i = 0; i < AllTransforms.size(); i++) {
+            Transform2D transform = AllTransforms.get(i);
+            if(cull && transform.isOutsideRect(-margin, -margin, right, bottom)) continue;
+
+            transform.draw(target);
+            drawn++;
+        }
+        drawnCount = drawn;
+        culledCount = AllTransforms.size() - drawn;
+        profiler.end(FrameProfiler.DRAW, drawStart);
+
+        callPostDraw(c);
+        profiler.end(FrameProfiler.FRAME, frameStart);
+        profiler.endFrame(drawnCount, culledCount);
+    }
+
+    /**
+     * Dirty region frame: simulate without locking, then lock and redraw only the damaged rectangle.
+     */
+    private void drawDirtyRegion(){
+        long frameStart = profiler.begin(FrameProfiler.FRAME);
+        int width = surfaceWidth;
+        int height = surfaceHeight;
+
+        Canvas simulationCanvas = simulationPicture.beginRecording(width, height);
+        callPreUpdate(simulationCanvas);
+        simulateFrame(simulationCanvas);
+        simulationPicture.endRecording();
+
+        // Checked before collecting, collect consumes the damage this frame would have drawn.
+        SurfaceHolder surfaceHolder = holder;
+        if(surfaceHolder == null){
+            endSkippedFrame(frameStart);
+            return;
+        }
+
+        if(!dirtyRegionTracker.collect(AllTransforms, width, height)){
+            drawnCount = 0;
+            culledCount = AllTransforms.size();
+            profiler.end(FrameProfiler.FRAME, frameStart);
+            profiler.endFrame(drawnCount, culledCount);
+            return;
+        }
+
+        Rect dirtyRect = dirtyRegionTracker.getDirtyRect();
+        // Partial locks are software only, full redraws stay software too as a surface cannot switch back from hardware.
+        long lockStart = profiler.begin(FrameProfiler.LOCK_CANVAS);
+        Canvas c = dirtyRegionTracker.isFullRedraw() ? surfaceHolder.lockCanvas() : surfaceHolder.lockCanvas(dirtyRect);
+        profiler.end(FrameProfiler.LOCK_CANVAS, lockStart);
+        if(c == null){
+            // Damage was already collected, redraw everything once a canvas can be locked again.
+            dirtyRegionTracker.invalidateAll();
+            endSkippedFrame(frameStart);
+            return;
+        }
+
+        callPreDraw(c);
+
+        if(dirtyRegionTracker.isFullRedraw()){
+            drawTransforms(c);
+        } else {
+            // lockCanvas may have grown the rectangle, it now holds the area actually clipped to.
+            drawTransforms(c, true, dirtyRect.left, dirtyRect.top, dirtyRect.right, dirtyRect.bottom);
+        }
+
+        callPostDraw(c);
+
+        long unlockStart = profiler.begin(FrameProfiler.UNLOCK_AND_POST);
+        surfaceHolder.unlockCanvasAndPost(c);
+        profiler.end(FrameProfiler.UNLOCK_AND_POST, unlockStart);
+        profiler.end(FrameProfiler.FRAME, frameStart);
+        profiler.endFrame(drawnCount, culledCount);
+    }
+
+    /**
+     * Pipelined frame on the Animate thread: simulate without locking the canvas, then hand a snapshot to the render thread.
+     */
+    private void simulate(){
+        ensureRenderThread();
+        long frameStart = profiler.begin(FrameProfiler.FRAME);
+
+        Canvas c = simulationPicture.beginRecording(surfaceWidth, surfaceHeight);
+        callPreUpdate(c);
+        simulateFrame(c);
+        simulationPicture.endRecording();
+
+        FrameSnapshot frameSnapshot = snapshots.getBack();
+        frameSnapshot.capture(AllTransforms, culling,
+                -cullingMargin, -cullingMargin, surfaceWidth + cullingMargin, surfaceHeight + cullingMargin);
+        drawnCount = frameSnapshot.size();
+        culledCount = frameSnapshot.getCulledCount();
+        snapshots.publish();
+        renderThread.wake();
+        profiler.end(FrameProfiler.FRAME, frameStart);
+        profiler.endFrame(drawnCount, culledCount);
+    }
+
+    private synchronized void ensureRenderThread(){
+        if(renderThread != null) return;
+
+        renderThread = new RenderThread(this, snapshots);
+        renderThread.start();
+    }
+
+    /**
+     * Render thread, pipelined only.
+     */
+    @Override
+    public void drawSnapshot(FrameSnapshot frameSnapshot) {
+        SurfaceHolder surfaceHolder = holder;
+        if(surfaceHolder == null) return;
+
+        long renderStart = profiler.begin(FrameProfiler.RENDER);
+        long lockStart = profiler.begin(FrameProfiler.LOCK_CANVAS);
+        Canvas c = canvasLocker.lock(surfaceHolder);
+        profiler.end(FrameProfiler.LOCK_CANVAS, lockStart);
+        if(c == null){
+            profiler.end(FrameProfiler.RENDER, renderStart);
+            return;
+        }
+
+        callPreDraw(c);
+
+        long drawStart = profiler.begin(FrameProfiler.DRAW);
+        if(spriteBatching && SpriteBatcher.isSupported(c)){
+            drawSnapshotsBatched(c, frameSnapshot);
+        } else {
+            snapshotBatcher.releaseShaders();
+            for (int i = 0; i < frameSnapshot.size(); i++) {
+                frameSnapshot.get(i).draw(c);
+            }
+        }
+        profiler.end(FrameProfiler.DRAW, drawStart);
+
+        callPostDraw(c);
+
+        unlockAndPost(surfaceHolder, c);
+        profiler.end(FrameProfiler.RENDER, renderStart);
+    }
+
+    private void drawSnapshotsBatched(Canvas canvas, FrameSnapshot frameSnapshot){
+        SpriteBatcher batcher = snapshotBatcher;
+        batcher.begin(canvas);
+        for (int i = 0; i < frameSnapshot.size(); i++) {
+            TransformSnapshot snapshot = frameSnapshot.get(i);
+            if(i > 0 && snapshot.SortingLayer != frameSnapshot.get(i - 1).SortingLayer){
+                batcher.flush();
+            }
+
+            if(snapshot.Batchable && !snapshot.DebugMode){
+                Rect source = snapshot.SourceRect;
+                Rect destination = snapshot.DestinationRect;
+                batcher.add(snapshot.Bitmap, snapshot.Paint, snapshot.DrawAffine,
+                        source.left, source.top, source.right, source.bottom,
+                        destination.left, destination.top, destination.right, destination.bottom);
+            } else {
+                batcher.flush();
+                snapshot.draw(canvas);
+            }
+        }
+        batcher.end();
+    }
+
+    /**
+     * Close a frame that returned before drawing, e.g. the canvas could not be locked,
+     * so its trace section is still ended and its components' time still flushed. Nothing counts as drawn.
+     */
+    private void endSkippedFrame(long frameStart){
+        profiler.end(FrameProfiler.FRAME, frameStart);
+        profiler.endFrame(0, 0);
+    }
+
+    private void unlockAndPost(SurfaceHolder surfaceHolder, Canvas canvas){
+        long start = profiler.begin(FrameProfiler.UNLOCK_AND_POST);
+        canvasLocker.unlockAndPost(surfaceHolder, canvas);
+        profiler.end(FrameProfiler.UNLOCK_AND_POST, start);
+    }
+
+    // Index loops rather than for-each so a steady frame allocates nothing.
+    private void callPreUpdate(Canvas canvas){
+        long start = profiler.begin(FrameProfiler.PRE_UPDATE);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onPreUpdate(this, canvas);
+        }
+        profiler.end(FrameProfiler.PRE_UPDATE, start);
+    }
+
+    private void callPreDraw(Canvas canvas){
+        long start = profiler.begin(FrameProfiler.PRE_DRAW);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onPreDrawSprites(this, canvas);
+        }
+        profiler.end(FrameProfiler.PRE_DRAW, start);
+    }
+
+    private void callPostDraw(Canvas canvas){
+        long start = profiler.begin(FrameProfiler.POST_DRAW);
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onPostDrawSprites(this, canvas);
+        }
+        profiler.end(FrameProfiler.POST_DRAW, start);
+    }
+
+    private void drawTransforms(Canvas canvas){
+        int margin = cullingMargin;
+        drawTransforms(canvas, culling, -margin, -margin, canvas.getWidth() + margin, canvas.getHeight() + margin);
+    }
+
+    /**
+     * Draw transforms, skipping cullable ones entirely outside the rectangle if cull is set.
+     */
+    private void drawTransforms(Canvas canvas, boolean cull, float left, float top, float right, float bottom){
+        long start = profiler.begin(FrameProfiler.DRAW);
+        boolean batching = spriteBatching && SpriteBatcher.isSupported(canvas);
+        if(batching){
+            transformBatcher.begin(canvas);
+        } else {
+            // Batching turned off, let go of the bitmaps the last batched frame drew.
+            transformBatcher.releaseShaders();
+        }
+
+        int drawn = 0;
+        int lastSortingLayer = 0;
+        for (int i = 0; i < AllTransforms.size(); i++) {
+            Transform2D transform = AllTransforms.get(i);
+            if(cull && transform.isOutsideRect(left, top, right, bottom)) continue;
+
+            drawn++;
+            if(!batching){
+                transform.draw(canvas);
+                continue;
+            }
+
+            // Batches never span sorting layers.
+            int sortingLayer = AllTransforms.getSortingLayerAt(i);
+            if(sortingLayer != lastSortingLayer){
+                transformBatcher.flush();
+                lastSortingLayer = sortingLayer;
+            }
+            if(transform.DebugMode || !transform.addToBatch(transformBatcher)){
+                transformBatcher.flush();
+                transform.draw(canvas);
+            }
+        }
+
+        if(batching){
+            transformBatcher.end();
+        }
+
+        drawnCount = drawn;
+        culledCount = AllTransforms.size() - drawn;
+        profiler.end(FrameProfiler.DRAW, start);
+    }
+
+    private void simulateFrame(Canvas canvas){
+        AllTransforms.resolveTransformUpdates();
+
+        long startStart = profiler.begin(FrameProfiler.START);
+        start(canvas);
+        profiler.end(FrameProfiler.START, startStart);
+        for (int i = 0; i < systems.size(); i++) {
+            systems.get(i).refresh(AllTransforms);
+        }
+        long updateStart = profiler.begin(FrameProfiler.UPDATE);
+        while(frameClock.consumeStep()){
+            update(canvas);
+        }
+        profiler.end(FrameProfiler.UPDATE, updateStart);
+    }
+
+    /**
+     * @return Pool to update parallel safe components on, null once released.
+     */
+    private ParallelUpdater getParallelUpdater(){
+        ParallelUpdater updater = parallelUpdater;
+        if(updater != null) return updater;
+
+        // Locked so release never misses a pool created while it runs.
+        synchronized (this){
+            if(parallelUpdater == null && !released){
+                parallelUpdater = new ParallelUpdater(Runtime.getRuntime().availableProcessors());
+            }
+            return parallelUpdater;
+        }
+    }
+
+    private void matchDisplayRefreshRate(){
+        if(!matchDisplayRefreshRate) return;
+
+        Display display = SurfaceView.getDisplay();
+        if(display == null) return;
+
+        int refreshRate = Math.round(display.getRefreshRate());
+        if(refreshRate > 0){
+            animator.setTargetFrameRate(refreshRate);
+        }
+    }
+
+    /**
+     * Start only transforms that were instantiated or given components since last frame, rather than scanning all.
+     */
+    private void start(Canvas canvas){
+        Transform2D transform;
+        while((transform = AllTransforms.pollStart()) != null){
+            transform.start(canvas, this);
+        }
+    }
+
+    private void update(Canvas canvas){
+        AllTransforms.invalidateSpatialHash();
+        ParallelUpdater updater = parallelUpdate ? getParallelUpdater() : null;
+        if(updater != null){
+            updater.update(AllTransforms, canvas, this);
+            for (int i = 0; i < AllTransforms.size(); i++) {
+                AllTransforms.get(i).updateComponents(canvas, this, false);
+            }
+        } else {
+            for (int i = 0; i < AllTransforms.size(); i++) {
+                AllTransforms.get(i).update(canvas, this);
+            }
+        }
+        boolean profiling = profiler.isEnabled();
+        for (int i = 0; i < systems.size(); i++) {
+            ComponentSystem<?> system = systems.get(i);
+            if(profiling){
+                long start = System.nanoTime();
+                system.run(canvas, this);
+                profiler.recordComponent(system.getType(), System.nanoTime() - start);
+            } else {
+                system.run(canvas, this);
+            }
+        }
+    }
+}
@@ -0,0 +1,888 @@
+package MiniSprite;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Matrix;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import java.util.HashMap;
+import java.util.List;
+
+import MiniSprite.Internal.Affine2D;
+import MiniSprite.Internal.DrawnTransformCollection;
+import MiniSprite.Internal.FrameProfiler;
+import MiniSprite.Internal.MiniLog;
+import MiniSprite.Internal.PackageUtilities;
+import MiniSprite.Internal.RenderTarget;
+import MiniSprite.Internal.SpriteBatcher;
+import MiniSprite.Internal.TransformSnapshot;
+import MiniSprite.Internal.TransformStorage;
+
+/**
+ * A Transform is a name for anything with a position and orientation in space (you transform it's position)
+ * Allows Canvas item to be positioned and rotated in world space
+ * Or relative to a parent transform (think a player moving with a platform)
+ * Parents can have parents of their own, to any depth.
+ *
+ * Local and world matrices are cached and only rebuilt when position, rotation, anchor, size or
+ * parent change, or when any ancestor's world matrix changes (tracked with a version number,
+ * so moving a parent implicitly dirties all descendants).
+ * Public fields can still be written directly; changes are picked up the next time the world transform is read.
+ *
+ * Matrix math uses plain float arrays (Affine2D), android Matrix and RectF copies are only made when asked for,
+ * so transforms, components and collision also work headless, see draw(RenderTarget).
+ */
+public class Transform2D {
+    // Only ever read, so every surface and render thread can share it.
+    private static final Rect DEBUG_POINTER_RECT = new Rect(-10, -80, 10, 0);
+
+    public String Name;
+    public Transform2D Parent;
+    public int PositionX;
+    public int PositionY;
+    public int AnchorOffsetX;
+    public int AnchorOffsetY;
+    public int Width;
+    public int Height;
+    public float RotationAngleDegrees;
+    public ComponentList Components;
+    public boolean DebugMode;
+
+    protected boolean started;
+
+    private final float[] localAffine = new float[Affine2D.SIZE];
+    private final float[] worldAffine = new float[Affine2D.SIZE];
+    private final float[] drawAffine = new float[Affine2D.SIZE];
+    private boolean drawMatrixIdentity;
+    private float worldCenterX;
+    private float worldCenterY;
+    private float worldLeft;
+    private float worldTop;
+    private float worldRight;
+    private float worldBottom;
+
+    // Android copies of the above, created and refreshed only when asked for.
+    private Matrix worldMatrix;
+    private Matrix drawMatrix;
+    private RectF worldBounds;
+    private float[] matrixValues;
+    private int matrixVersion = -1;
+    private int boundsVersion = -1;
+    private int worldVersion;
+
+    // Values the cached matrices were last built from.
+    private boolean worldDirty = true;
+    private Transform2D cachedParent;
+    private int cachedParentWorldVersion;
+    private int cachedPositionX;
+    private int cachedPositionY;
+    private int cachedAnchorOffsetX;
+    private int cachedAnchorOffsetY;
+    private int cachedWidth;
+    private int cachedHeight;
+    private float cachedRotationAngleDegrees;
+
+    // Dirty rectangle tracking, what the transform looked like when collectDamage was last called.
+    private int contentVersion;
+    private boolean damageTracked;
+    private int damageWorldVersion;
+    private int damageContentVersion;
+    private float damageLeft;
+    private float damageTop;
+    private float damageRight;
+    private float damageBottom;
+
+    // Component lookups by requested type, including misses, valid while Components is unchanged.
+    private final HashMap<Class<?>, Component> componentsByType = new HashMap<>();
+    private ComponentList indexedComponents;
+    private int indexedComponentsVersion;
+
+    // Collection the transform is drawn in, set while instantiated. Used to queue late added components to start.
+    private DrawnTransformCollection collection;
+    private boolean startQueued;
+
+    // Set while a ComponentSystem owns the transform, its position, rotation and size then live in storage, see syncStorage.
+    private TransformStorage storage;
+    private int storageIndex;
+
+    protected Transform2D(Builder<?> builder){
+        Name = builder.name;
+        Parent = builder.parent;
+        PositionX = builder.positionX;
+        PositionY = builder.positionY;
+        AnchorOffsetX = builder.anchorOffsetX;
+        AnchorOffsetY = builder.anchorOffsetY;
+        Width = builder.width;
+        Height = builder.height;
+        RotationAngleDegrees = builder.rotationAngleDegrees;
+        DebugMode = builder.debugMode;
+        Components = builder.components;
+        Components.owner = this;
+    }
+
+    /**
+     * Deep copy components with their tryCopy functions.
+     * @param another
+     */
+    public Transform2D(Transform2D another){
+        if(another.storage != null){
+            // Fields of a transform a system owns may lag its storage.
+            another.updateWorldTransform();
+        }
+        Name = another.Name;
+        Parent = another.Parent;
+        PositionX = another.PositionX;
+        PositionY = another.PositionY;
+        AnchorOffsetX = another.AnchorOffsetX;
+        AnchorOffsetY = another.AnchorOffsetY;
+        Width = another.Width;
+        Height = another.Height;
+        RotationAngleDegrees = another.RotationAngleDegrees;
+
+        Components = new ComponentList(another.Components.size());
+        for (Component component : another.Components){
+            Components.add(component.createCopy());
+        }
+        Components.owner = this;
+    }
+
+    /**
+     * Safely creates a Transform2D.
+     * Can be extended!
+     * More info: https://stackoverflow.com/questions/17164375/subclassing-a-java-builder-class
+     */
+    public static class Builder<T extends Builder<T>> {
+        private String name;
+        private Transform2D parent;
+        private int positionX;
+        private int positionY;
+        private int anchorOffsetX;
+        private int anchorOffsetY;
+        private int width;
+        private int height;
+        private float rotationAngleDegrees;
+        private boolean debugMode;
+        private final ComponentList components = new ComponentList();
+
+        public Builder() {}
+
+        /**
+         * Set a custom name, useful for debugging and
+         * searching for specific objects.
+         * Also can search by name when iterating Transform collections.
+         * @param name Name you want to see when debugging.
+         * @return Self for builder pattern.
+         */
+        public T withName(String name){
+            this.name = name;
+            return (T) this;
+        }
+
+        /**
+         * Position on screen in pixels when drawing.
+         * Canvas starts at top left (0, 0). Bottom is positive (x, y).
+         * Calculated before rotation.
+         * Can be global or local position, local if Parent != null
+         * @param x Position on x axis
+         * @param y Position on y axis
+         * @return Self for builder pattern,
+         */
+        public T withPositionXY(int x, int y){
+            this.positionX = x;
+            this.positionY = y;
+            return (T) this;
+        }
+
+        /**
+         * After moved to position and rotated around center, apply position offset to transform
+         * Useful if wanting to rotate around an axis other than the center.
+         * @param x After position and rotation applied, pixels to move left or right. Recommended to be relative to width.
+         * @param y After position and rotation applied, pixels to move up or down. Recommended to be relative to height.
+         * @return
+         */
+        public T withAnchorOffsetXY(int x, int y){
+            this.anchorOffsetX = x;
+            this.anchorOffsetY = y;
+            return (T) this;
+        }
+
+        /**
+         * Width and height on screen when drawing.
+         * Defined and used by custom Transforms.
+         * No inherent use when manipulating Canvas.
+         * TODO: Allow for scale.
+         * @param width Width in pixels
+         * @param height Height in pixels
+         * @return Self for builder pattern.
+         */
+        public T withDimensions(int width, int height){
+            this.width = width;
+            this.height = height;
+            return (T) this;
+        }
+
+        /**
+         * When you want a Transform to move and rotate
+         * using another Transform as a basis, set the basis Transform as a parent.
+         * In Unity, this is effectively setting a child in the hierarchy.
+         * @param parent Other transform. When drawn, position and rotation will include parent's values.
+         * @return Self for builder pattern.
+         */
+        public T withParent(Transform2D parent){
+            this.parent = parent;
+            return (T) this;
+        }
+
+        /**
+         * A normal basis has 3 vectors in 3D space, where you can rotate around each one.
+         * In 2D, only uses z-axis rotation from 0-360 degrees.
+         * 0 is orientated with z-axis direction up.
+         * @param rotationAngleDegrees Degrees of rotation on z-axis starting up rotating counter clockwise.
+         * @return Self for Builder pattern.
+         */
+        public T withRotationAngleDegrees(int rotationAngleDegrees){
+            this.rotationAngleDegrees = rotationAngleDegrees;
+            return (T) this;
+        }
+
+        /**
+         * Useful debug tool. Draw circles at where transform is supposed to be.
+         * Green circle = Position XY.
+         * Red circle with rectangle = Rotation Angle 2D
+         * @param debugMode True if you want to see drawn circles indicating position and rotation.
+         * @return Self for Builder pattern.
+         */
+        public T withDebugMode(boolean debugMode){
+            this.debugMode = debugMode;
+            return (T) this;
+        }
+
+        /**
+         * When transform is added to MiniSpriteSurface,
+         * each added component will be called
+         * with this Transform as the owner
+         * @param component Component to add (recommended to make copies of components. Shared references can be unpredictable.
+         * @return Self for fluent builder pattern.
+         */
+        public T withComponent(Component component){
+            components.add(component);
+            return (T) this;
+        }
+
+        public Transform2D build(){
+            return new Transform2D(this);
+        }
+    }
+
+    /**
+     * Draw the transform on canvas
+     * Manipulates canvas translation and rotation, then children's RelativeDraw is called
+     * If debug mode enabled, draws circles
+     * Green circle = Position XY.
+     * Red circle with rectangle = Rotation Angle 2D
+     * @param canvas Canvas to temporarily save, manipulate and draw on.
+     */
+    public void draw(Canvas canvas){
+        updateWorldTransform();
+
+        canvas.save();
+
+        // TODO: Consider and resize with parent scale
+        if(!drawMatrixIdentity){
+            canvas.concat(getDrawMatrix());
+        }
+
+        MiniLog.log(MiniLog.VERBOSE, PackageUtilities.LOG_CONTINUOUS_TAG, "Drawing transform: {}", Name);
+        relativeDraw(canvas);
+
+        if(DebugMode){
+            drawDebug(canvas, Width, Height);
+        }
+
+        canvas.restore();
+    }
+
+    /**
+     * Transforms that draw only inside their width and height can be skipped when off screen.
+     * Base transforms and custom transforms drawing anything else (e.g. text) are always drawn,
+     * override to return true once relativeDraw stays within width and height.
+     * @return True if drawing never goes outside world bounds.
+     */
+    public boolean isCullable(){
+        return false;
+    }
+
+    /**
+     * Used by MiniSpriteSurface to skip drawing transforms that cannot be seen.
+     * Transforms that are not cullable, or are in debug mode, are never outside.
+     * @return True if world bounds do not touch the rectangle.
+     */
+    public boolean isOutsideRect(float left, float top, float right, float bottom){
+        if(DebugMode || !isCullable()) return false;
+
+        updateWorldTransform();
+        return worldRight < left || worldLeft > right || worldBottom < top || worldTop > bottom;
+    }
+
+    /**
+     * Mark the transform as drawing differently, for dirty rectangle rendering.
+     * Position, rotation, anchor, size and parent changes are picked up automatically,
+     * call after changing anything else relativeDraw depends on, e.g. a Paint's color.
+     */
+    public void invalidate(){
+        contentVersion++;
+    }
+
+    /**
+     * Override to detect content changes invalidate cannot be called for, e.g. a public field being assigned.
+     * @return Changes whenever what relativeDraw draws changes.
+     */
+    protected int getContentVersion(){
+        return contentVersion;
+    }
+
+    /**
+     * Used by dirty rectangle rendering. If the transform moved or changed since the last call,
+     * grow damage to cover where it was and where it is now.
+     * @param damage Area to redraw, grown to include this transform's old and new world bounds.
+     * @return True if the transform changed since the last call (or was never seen).
+     */
+    public boolean collectDamage(RectF damage){
+        updateWorldTransform();
+
+        int version = getContentVersion();
+        if(damageTracked && damageWorldVersion == worldVersion && damageContentVersion == version) return false;
+
+        if(damageTracked){
+            damage.union(damageLeft, damageTop, damageRight, damageBottom);
+        }
+        damage.union(worldLeft, worldTop, worldRight, worldBottom);
+
+        damageLeft = worldLeft;
+        damageTop = worldTop;
+        damageRight = worldRight;
+        damageBottom = worldBottom;
+        damageWorldVersion = worldVersion;
+        damageContentVersion = version;
+        damageTracked = true;
+        return true;
+    }
+
+    /**
+     * Debug shapes, drawn relative to the transform.
+     * Green circle = Position XY.
+     * Red circle with rectangle = Rotation Angle 2D
+     * Red outline = Width and height.
+     */
+    public static void drawDebug(Canvas canvas, int width, int height){
+        canvas.drawCircle(0, 0, 40, PackageUtilities.getDebugPaint(Color.RED));
+        canvas.drawRect(DEBUG_POINTER_RECT, PackageUtilities.getDebugPaint(Color.RED));
+        // Bounds change per transform, drawn from floats rather than a shared scratch rect.
+        canvas.drawRect(-width /2, -height /2, width /2, height /2, PackageUtilities.getDebugOutlinePaint(Color.RED));
+        canvas.drawCircle(0, 0, 40, PackageUtilities.getDebugPaint(Color.GREEN));
+    }
+
+    /**
+     * Pipelined rendering (MiniSpriteSurface.setPipelinedRendering) draws from snapshots rather than transforms.
+     * Called on the simulation thread at the end of each frame, copy everything relativeDrawSnapshot needs.
+     * Override together with relativeDrawSnapshot in custom transforms. Always call super.
+     * @param snapshot Snapshot to fill, reused between frames.
+     */
+    public void writeSnapshot(TransformSnapshot snapshot){
+        updateWorldTransform();
+
+        snapshot.Transform = this;
+        snapshot.DrawMatrix.set(getDrawMatrix());
+        Affine2D.set(snapshot.DrawAffine, drawAffine);
+        snapshot.DrawMatrixIdentity = drawMatrixIdentity;
+        snapshot.Batchable = false;
+        snapshot.Width = Width;
+        snapshot.Height = Height;
+        snapshot.DebugMode = DebugMode;
+    }
+
+    /**
+     * Pipelined rendering counterpart of relativeDraw, called on the render thread.
+     * Draw only from snapshot: the transform itself may already be changing for the next frame.
+     * @param canvas Canvas already translated and rotated like relativeDraw's.
+     * @param snapshot Snapshot filled by writeSnapshot.
+     */
+    public void relativeDrawSnapshot(Canvas canvas, TransformSnapshot snapshot) {}
+
+    /**
+     * Used by MiniSpriteSurface's sprite batching instead of draw, for transforms that draw one bitmap rectangle.
+     * Override to add that rectangle with batcher.add(bitmap, paint, getDrawAffine(), ...) and return true.
+     * Debug mode transforms are never batched.
+     * @param batcher Batcher of the frame being drawn.
+     * @return True if added, false to be drawn with draw instead.
+     */
+    public boolean addToBatch(SpriteBatcher batcher){
+        return false;
+    }
+
+    /**
+     * Same as draw(Canvas), on any RenderTarget, e.g. a RecordingRenderTarget when running headless.
+     * Debug shapes are only drawn if the target has a canvas.
+     * @param target Target to temporarily save, manipulate and draw on.
+     */
+    public void draw(RenderTarget target){
+        updateWorldTransform();
+
+        target.save();
+        if(!drawMatrixIdentity){
+            target.concat(drawAffine);
+        }
+
+        relativeDraw(target);
+
+        Canvas canvas = target.getCanvas();
+        if(DebugMode && canvas != null){
+            drawDebug(canvas, Width, Height);
+        }
+
+        target.restore();
+    }
+
+    /**
+     * RenderTarget counterpart of relativeDraw(Canvas). By default draws on the target's canvas, nothing if headless.
+     * Override in custom transforms that should also draw headless.
+     * @param target Target already translated and rotated like relativeDraw's canvas.
+     */
+    public void relativeDraw(RenderTarget target) {
+        Canvas canvas = target.getCanvas();
+        if(canvas != null){
+            relativeDraw(canvas);
+        }
+    }
+
+    /**
+     * Subclass Transform and override RelativeDraw.
+     * Called by Draw, which already translates, rotates, and scales the canvas, considering the parent.
+     * This means drawing at 0, 0 will have the correct location.
+     * @param canvas Canvas to draw on. Ex. Sprite, Text, etc.
+     */
+    public void relativeDraw(Canvas canvas) {}
+
+    /**
+     * Called by MiniSpriteSurface's Animate thread, only on frames the transform is queued to start:
+     * once after being instantiated, and again after components are added to it.
+     * Starts every component not yet started, then calls onEnable on the enabled ones.
+     * @param canvas Canvas that components will use.
+     * @param miniSpriteSurface Surface that components will use.
+     */
+    public void start(Canvas canvas, MiniSpriteSurface miniSpriteSurface){
+        startQueued = false;
+        // Destroyed while queued.
+        if(collection == null) return;
+
+        // Index loop, a component's start may add further components, which start here too.
+        for (int i = 0; i < Components.size(); i++) {
+            Component component = Components.get(i);
+            if(component.started) continue;
+
+            component.start(this, canvas, miniSpriteSurface);
+            component.started = true;
+            // Now active, a system of its type picks it up.
+            ComponentList.typeChanged(component);
+            if(component.isEnabled()){
+                component.onEnable();
+            }
+        }
+
+        started = true;
+    }
+
+    /**
+     * Called by DrawnTransformCollection when the transform is instantiated (or moved to another sorting layer).
+     * Queues it to start on this frame.
+     * @param collection Collection now drawing the transform.
+     */
+    public void onInstantiate(DrawnTransformCollection collection){
+        this.collection = collection;
+        // Components started before, e.g. instantiated again after being destroyed, are active again straight away.
+        for (int i = 0; i < Components.size(); i++) {
+            ComponentList.typeChanged(Components.get(i));
+        }
+        queueStart();
+    }
+
+    // Called by Components when components are added.
+    void onComponentsAdded(){
+        // Before the first start, start picks up every component anyway.
+        if(started){
+            queueStart();
+        }
+    }
+
+    private void queueStart(){
+        if(startQueued || collection == null) return;
+
+        startQueued = true;
+        collection.queueStart(this);
+    }
+
+    /**
+     * Called by MiniSpriteSurface's Animate thread.
+     * Runs whenever animate ticks.
+     * Components updated by a registered ComponentSystem are skipped.
+     * @param canvas Canvas that components will use.
+     * @param miniSpriteSurface Surface that components will use.
+     */
+    public void update(Canvas canvas, MiniSpriteSurface miniSpriteSurface){
+        FrameProfiler profiler = miniSpriteSurface.getProfiler();
+        boolean profiling = profiler.isEnabled();
+        for (int i = 0; i < Components.size(); i++) {
+            Component component = Components.get(i);
+            if(component.system == null && component.isActive()){
+                updateComponent(component, canvas, miniSpriteSurface, profiler, profiling);
+            }
+        }
+    }
+
+    /**
+     * Update only components that are, or are not, parallel safe. Used by MiniSpriteSurface's parallel update,
+     * which runs every parallel safe component on worker threads before the rest on the Animate thread.
+     * Components updated by a registered ComponentSystem are skipped.
+     * @param canvas Canvas that components will use.
+     * @param miniSpriteSurface Surface that components will use.
+     * @param parallelSafe Which components to update, see Component.isParallelSafe.
+     */
+    public void updateComponents(Canvas canvas, MiniSpriteSurface miniSpriteSurface, boolean parallelSafe){
+        FrameProfiler profiler = miniSpriteSurface.getProfiler();
+        boolean profiling = profiler.isEnabled();
+        for (int i = 0; i < Components.size(); i++) {
+            Component component = Components.get(i);
+            if(component.system == null && component.isActive() && component.isParallelSafe() == parallelSafe){
+                updateComponent(component, canvas, miniSpriteSurface, profiler, profiling);
+            }
+        }
+    }
+
+    private void updateComponent(Component component, Canvas canvas, MiniSpriteSurface miniSpriteSurface, FrameProfiler profiler, boolean profiling){
+        if(!profiling){
+            component.update(this, canvas, miniSpriteSurface);
+            return;
+        }
+
+        long start = System.nanoTime();
+        component.update(this, canvas, miniSpriteSurface);
+        profiler.recordComponent(component.getClass(), System.nanoTime() - start);
+    }
+
+    /**
+     * Called by DrawnTransformCollection once the transform has been destroyed and removed.
+     * Disables and destroys started components.
+     * Override to release resources. Always call super.
+     */
+    public void onDestroy(){
+        // Left in the start queue if queued, start skips it once polled unless instantiated again meanwhile.
+        collection = null;
+
+        for (int i = 0; i < Components.size(); i++) {
+            Component component = Components.get(i);
+            ComponentList.typeChanged(component);
+            if(!component.started) continue;
+
+            if(component.isEnabled()){
+                component.onDisable();
+            }
+            component.onDestroy();
+        }
+    }
+
+    /**
+     * Retrieve previously added and stored component using class.
+     * Ex. getComponent(FallingComponent.class)
+     * Results are cached per type until Components changes, so repeated lookups are a single hash lookup.
+     * Call from the Animator thread, or from a component of this transform.
+     * @param type For all components, find first of type or a subtype of it.
+     * @return Component already cast to type. If doesn't exist, return null.
+     * @param <T> Any possible component that can be started & updated.
+     */
+    public <T extends Component> T getComponent(Class<T> type){
+        if(indexedComponents != Components || indexedComponentsVersion != Components.getVersion()){
+            componentsByType.clear();
+            indexedComponents = Components;
+            indexedComponentsVersion = Components.getVersion();
+        }
+
+        Component component = componentsByType.get(type);
+        if(component == null && !componentsByType.containsKey(type)){
+            component = findComponent(type);
+            componentsByType.put(type, component);
+        }
+        return type.cast(component);
+    }
+
+    /**
+     * @param type Component type, subtypes included.
+     * @return True if transform has a component of type.
+     */
+    public boolean hasComponent(Class<? extends Component> type){
+        return getComponent(type) != null;
+    }
+
+    /**
+     * Find every component of a type, in update order.
+     * @param type Component type, subtypes included.
+     * @param results Cleared, then filled with components of type. Reuse the list to avoid allocating.
+     */
+    public <T extends Component> void getComponents(Class<T> type, List<? super T> results){
+        results.clear();
+        for (int i = 0; i < Components.size(); i++) {
+            Component component = Components.get(i);
+            if(type.isInstance(component)){
+                results.add(type.cast(component));
+            }
+        }
+    }
+
+    private Component findComponent(Class<?> type){
+        for (int i = 0; i < Components.size(); i++) {
+            Component component = Components.get(i);
+            if(type.isInstance(component)){
+                return component;
+            }
+        }
+        return null;
+    }
+
+    // Called by ComponentSystem. Fields are copied into storage, which is authoritative from then on.
+    int bindStorage(TransformStorage storage){
+        // Cached values are what syncStorage compares against, bring them level with the fields first.
+        updateWorldTransform();
+        this.storage = storage;
+        storageIndex = storage.add(this);
+        return storageIndex;
+    }
+
+    // Called by ComponentSystem when it stops owning the transform, the fields are authoritative again.
+    void unbindStorage(){
+        syncStorage();
+        storage = null;
+    }
+
+    boolean isStorageBound(){
+        return storage != null;
+    }
+
+    /**
+     * Storage and fields both match the cached values after every world update.
+     * A storage value that moved away from its cached value was written by the system and wins,
+     * otherwise a field written directly is copied into storage.
+     */
+    private void syncStorage(){
+        int index = storageIndex;
+        PositionX = syncValue(PositionX, cachedPositionX, storage.PositionX, index);
+        PositionY = syncValue(PositionY, cachedPositionY, storage.PositionY, index);
+        Width = syncValue(Width, cachedWidth, storage.Width, index);
+        Height = syncValue(Height, cachedHeight, storage.Height, index);
+        RotationAngleDegrees = syncValue(RotationAngleDegrees, cachedRotationAngleDegrees, storage.RotationAngleDegrees, index);
+    }
+
+    private static int syncValue(int field, int cached, int[] values, int index){
+        int value = values[index];
+        if(value != cached) return value;
+
+        values[index] = field;
+        return field;
+    }
+
+    private static float syncValue(float field, float cached, float[] values, int index){
+        float value = values[index];
+        if(value != cached) return value;
+
+        values[index] = field;
+        return field;
+    }
+
+    /**
+     * Using world center and dimensions (width, height), simple calculation if would be intersecting
+     * @param other Transform with position and dimensions within space.
+     * @return True if would be intersecting, false if not.
+     */
+    public boolean isCollidingWith(Transform2D other){
+        updateWorldTransform();
+        other.updateWorldTransform();
+        return Math.abs(other.worldCenterX - worldCenterX) < other.Width &&
+                Math.abs(other.worldCenterY - worldCenterY) < other.Height;
+    }
+
+    /**
+     * Move transform, marking it and its descendants dirty.
+     * Same as setting PositionX and PositionY directly.
+     * @param x Position on x axis, local if Parent != null
+     * @param y Position on y axis, local if Parent != null
+     */
+    public void setPositionXY(int x, int y){
+        PositionX = x;
+        PositionY = y;
+        worldDirty = true;
+    }
+
+    /**
+     * Rotate transform, marking it and its descendants dirty.
+     * Same as setting RotationAngleDegrees directly.
+     * @param rotationAngleDegrees Degrees of rotation, local if Parent != null
+     */
+    public void setRotationAngleDegrees(float rotationAngleDegrees){
+        RotationAngleDegrees = rotationAngleDegrees;
+        worldDirty = true;
+    }
+
+    /**
+     * Change parent, marking transform and its descendants dirty.
+     * Same as setting Parent directly.
+     * @param parent New parent, or null to position in world space.
+     */
+    public void setParent(Transform2D parent){
+        Parent = parent;
+        worldDirty = true;
+    }
+
+    /**
+     * Rebuild cached matrices and bounds if this transform or any ancestor changed since last call.
+     * Called automatically when drawing and colliding.
+     * For a transform owned by a ComponentSystem, first brings the public fields up to date with the system's storage,
+     * call before reading them directly.
+     */
+    public void updateWorldTransform(){
+        int parentWorldVersion = 0;
+        if(Parent != null){
+            Parent.updateWorldTransform();
+            parentWorldVersion = Parent.worldVersion;
+        }
+        if(storage != null){
+            syncStorage();
+        }
+
+        if(!worldDirty &&
+                cachedParent == Parent &&
+                cachedParentWorldVersion == parentWorldVersion &&
+                cachedPositionX == PositionX &&
+                cachedPositionY == PositionY &&
+                cachedRotationAngleDegrees == RotationAngleDegrees &&
+                cachedAnchorOffsetX == AnchorOffsetX &&
+                cachedAnchorOffsetY == AnchorOffsetY &&
+                cachedWidth == Width &&
+                cachedHeight == Height){
+            return;
+        }
+
+        Affine2D.setRotateTranslate(localAffine, RotationAngleDegrees, PositionX, PositionY);
+
+        if(Parent != null){
+            Affine2D.concat(worldAffine, Parent.worldAffine, localAffine);
+        } else {
+            Affine2D.set(worldAffine, localAffine);
+        }
+
+        Affine2D.set(drawAffine, worldAffine);
+        if(AnchorOffsetX != 0 || AnchorOffsetY != 0){
+            Affine2D.preTranslate(drawAffine, AnchorOffsetX, AnchorOffsetY);
+        }
+        drawMatrixIdentity = Affine2D.isIdentity(drawAffine);
+
+        worldCenterX = drawAffine[Affine2D.TRANS_X];
+        worldCenterY = drawAffine[Affine2D.TRANS_Y];
+
+        // Axis aligned box around the rotated width and height, same as Matrix.mapRect.
+        float halfWidth = Width / 2f;
+        float halfHeight = Height / 2f;
+        float extentX = Math.abs(drawAffine[Affine2D.SCALE_X]) * halfWidth + Math.abs(drawAffine[Affine2D.SKEW_X]) * halfHeight;
+        float extentY = Math.abs(drawAffine[Affine2D.SKEW_Y]) * halfWidth + Math.abs(drawAffine[Affine2D.SCALE_Y]) * halfHeight;
+        worldLeft = worldCenterX - extentX;
+        worldTop = worldCenterY - extentY;
+        worldRight = worldCenterX + extentX;
+        worldBottom = worldCenterY + extentY;
+
+        cachedParent = Parent;
+        cachedParentWorldVersion = parentWorldVersion;
+        cachedPositionX = PositionX;
+        cachedPositionY = PositionY;
+        cachedRotationAngleDegrees = RotationAngleDegrees;
+        cachedAnchorOffsetX = AnchorOffsetX;
+        cachedAnchorOffsetY = AnchorOffsetY;
+        cachedWidth = Width;
+        cachedHeight = Height;
+        worldDirty = false;
+        worldVersion++;
+    }
+
+    /**
+     * Position and rotation in world space, what children are positioned relative to. Excludes anchor offset.
+     * @return Cached matrix, do not modify.
+     */
+    public Matrix getWorldMatrix(){
+        updateMatrices();
+        return worldMatrix;
+    }
+
+    /**
+     * World matrix with anchor offset applied, what relativeDraw draws in.
+     * @return Cached matrix, do not modify.
+     */
+    public Matrix getDrawMatrix(){
+        updateMatrices();
+        return drawMatrix;
+    }
+
+    /**
+     * Draw matrix as plain floats, see Affine2D for the layout. Works headless.
+     * @return Cached values, do not modify.
+     */
+    public float[] getDrawAffine(){
+        updateWorldTransform();
+        return drawAffine;
+    }
+
+    private void updateMatrices(){
+        updateWorldTransform();
+        if(matrixVersion == worldVersion && worldMatrix != null) return;
+
+        if(worldMatrix == null){
+            worldMatrix = new Matrix();
+            drawMatrix = new Matrix();
+            matrixValues = new float[9];
+        }
+        Affine2D.toMatrix(worldAffine, worldMatrix, matrixValues);
+        Affine2D.toMatrix(drawAffine, drawMatrix, matrixValues);
+        matrixVersion = worldVersion;
+    }
+
+    /**
+     * Axis aligned box around the width and height as drawn, after rotation, anchor offset and all parents.
+     * @return Cached bounds, do not modify.
+     */
+    public RectF getWorldBounds(){
+        updateWorldTransform();
+        if(worldBounds == null){
+            worldBounds = new RectF();
+        }
+        if(boundsVersion != worldVersion){
+            worldBounds.left = worldLeft;
+            worldBounds.top = worldTop;
+            worldBounds.right = worldRight;
+            worldBounds.bottom = worldBottom;
+            boundsVersion = worldVersion;
+        }
+        return worldBounds;
+    }
+
+    /**
+     * @return X of the drawn center in world space.
+     */
+    public float getWorldCenterX(){
+        updateWorldTransform();
+        return worldCenterX;
+    }
+
+    /**
+     * @return Y of the drawn center in world space.
+     */
+    public float getWorldCenterY(){
+        updateWorldTransform();
+        return worldCenterY;
+    }
+}
@@ -0,0 +1,157 @@
+package MiniSprite;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+
+import MiniSprite.CustomComponents.FallingComponent;
+import MiniSprite.CustomComponents.FallingSystem;
+import MiniSprite.CustomComponents.WaveComponent;
+import MiniSprite.CustomTransforms.MiniSprite;
+import MiniSprite.CustomTransforms.MiniText;
+import MiniSprite.Internal.RecordingRenderTarget;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A steady frame allocates nothing: stepFrame on a headless surface, then every transform drawn on a Canvas
+ * like the surface's own draw does, counted with the thread's allocated bytes.
+ * Warm up first, lists and arrays grow to the scene's size during the first frames.
+ *
+ * Every window of frames after warm up is checked. The JVM itself may allocate a few hundred bytes on the
+ * test thread when it recompiles or deoptimizes a method, so a window may allocate up to JIT_ALLOWANCE_BYTES.
+ * A frame allocating even one small object goes over it: 300 frames of an int[2] are 7200 bytes.
+ * Run without escape analysis (see build.gradle), HotSpot would otherwise remove allocations ART still makes.
+ */
+public class FrameAllocationTest {
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+    private static final long FRAME_NANOS = 16_666_667L;
+    private static final int WARMUP_FRAMES = 2000;
+    private static final int MEASURED_FRAMES = 300;
+    private static final int WINDOWS = 10;
+    private static final long JIT_ALLOWANCE_BYTES = 1024;
+
+    private com.sun.management.ThreadMXBean threadBean;
+    private MiniSpriteSurface surface;
+    private RecordingRenderTarget target;
+    private Canvas canvas;
+    private long frameTime;
+
+    @Before
+    public void setup(){
+        // HotSpot only, skipped where the JVM cannot count allocations.
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        surface = new MiniSpriteSurface(WIDTH, HEIGHT);
+        target = new RecordingRenderTarget(WIDTH, HEIGHT);
+        canvas = new Canvas();
+    }
+
+    @Test
+    public void componentUpdatesAllocateNothing() throws ReflectiveOperationException {
+        createScene();
+
+        assertSteadyFramesAllocateNothing();
+    }
+
+    @Test
+    public void systemUpdatesAllocateNothing() throws ReflectiveOperationException {
+        surface.registerSystem(new FallingSystem());
+        createScene();
+
+        assertSteadyFramesAllocateNothing();
+    }
+
+    private void createScene() throws ReflectiveOperationException {
+        Bitmap bitmap = createStubBitmap();
+
+        // Few enough to never have ten overlaps, so FallingComponent's collision list stops growing during warm up.
+        for (int i = 0; i < 60; i++) {
+            surface.AllTransforms.instantiateTransform(new MiniText.Builder()
+                    .withName("Falling text " + i)
+                    .withTextValue("T")
+                    .withDimensions(64, 64)
+                    .withComponent(new FallingComponent(5, 15, 1, 3, transform -> false))
+                    .build(), 1);
+            surface.AllTransforms.instantiateTransform(new MiniSprite.Builder(bitmap)
+                    .withName("Falling sprite " + i)
+                    .withDimensions(64, 64)
+                    .withComponent(new FallingComponent(5, 15, 1, 3, transform -> false))
+                    .build(), 1);
+        }
+
+        surface.AllTransforms.instantiateTransform(new MiniSprite.Builder(bitmap)
+                .withName("Debug sprite")
+                .withDimensions(128, 128)
+                .withPositionXY(WIDTH / 2, HEIGHT / 2)
+                .withDebugMode(true)
+                .build(), 2);
+
+        // Below where the falling transforms reset, out of their way.
+        surface.AllTransforms.instantiateTransform(new Transform2D.Builder<>()
+                .withName("Wave")
+                .withPositionXY(WIDTH / 2, HEIGHT + 1000)
+                .withComponent(new WaveComponent(
+                        () -> new MiniText.Builder().withTextValue("~").build(),
+                        0, 0,
+                        WIDTH, HEIGHT / 4,
+                        40, 400, 2000,
+                        1f, 1f,
+                        0))
+                .build(), 0);
+    }
+
+    private void assertSteadyFramesAllocateNothing(){
+        stepFrames(WARMUP_FRAMES);
+
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WINDOWS; i++) {
+            long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+            stepFrames(MEASURED_FRAMES);
+            long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            assertTrue("Window " + i + " of " + MEASURED_FRAMES + " frames allocated " + allocated + " bytes",
+                    allocated <= JIT_ALLOWANCE_BYTES);
+        }
+    }
+
+    private void stepFrames(int count){
+        for (int i = 0; i < count; i++) {
+            target.clear();
+            frameTime += FRAME_NANOS;
+            surface.stepFrame(frameTime, target);
+
+            // RecordingRenderTarget has no canvas, draw on one too for the Canvas paths (MiniSprite rects, debug drawing).
+            for (int j = 0; j < surface.AllTransforms.size(); j++) {
+                surface.AllTransforms.get(j).draw(canvas);
+            }
+        }
+    }
+
+    /**
+     * Headless, Bitmap.createBitmap returns null. Make one through its hidden constructor, nothing reads its pixels.
+     */
+    private static Bitmap createStubBitmap() throws ReflectiveOperationException {
+        Constructor<?> constructor = Bitmap.class.getDeclaredConstructors()[0];
+        constructor.setAccessible(true);
+        Class<?>[] types = constructor.getParameterTypes();
+        Object[] arguments = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if(types[i].isPrimitive()){
+                arguments[i] = Array.get(Array.newInstance(types[i], 1), 0);
+            }
+        }
+        return (Bitmap) constructor.newInstance(arguments);
+    }
+}